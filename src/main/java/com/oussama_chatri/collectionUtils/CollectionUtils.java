@@ -1,11 +1,18 @@
 package com.oussama_chatri.collectionUtils;
 
+import com.oussama_chatri.collectionUtils.sketch.CountMinSketch;
+import com.oussama_chatri.collectionUtils.sketch.HyperLogLog;
+import com.oussama_chatri.collectionUtils.sketch.SpaceSaving;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.*;
 import java.util.stream.Collectors;
 
 public class CollectionUtils {
 
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
     public static <T> T safeGet(List<T> list, int index) {
         if (list == null || index < 0 || index >= list.size()) {
             return null;
@@ -116,6 +123,25 @@ public class CollectionUtils {
         return copy;
     }
 
+    // Snapshots a list, typically one of the *View results, into an independent ArrayList.
+    public static <T> List<T> materialize(List<T> list) {
+        if (list == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(list);
+    }
+
+    public static <T> List<List<T>> materializeNested(List<? extends List<T>> lists) {
+        if (lists == null) {
+            return new ArrayList<>();
+        }
+        List<List<T>> copy = new ArrayList<>(lists.size());
+        for (List<T> list : lists) {
+            copy.add(materialize(list));
+        }
+        return copy;
+    }
+
     public static <K, V> Map<K, V> deepCopyMap(Map<K, V> map) {
         if (map == null) {
             return null;
@@ -187,15 +213,44 @@ public class CollectionUtils {
         return new ArrayList<>(set);
     }
 
+    // Elements of list1 (duplicates and order kept) that also occur in list2, in O(n + m).
     public static <T> List<T> intersection(List<T> list1, List<T> list2) {
         if (list1 == null || list2 == null) {
             return new ArrayList<>();
         }
-        List<T> result = new ArrayList<>(list1);
-        result.retainAll(list2);
-        return result;
+        return intersectionWithSet(list1, new HashSet<>(list2));
+    }
+
+    // Like intersection, with a lookup set the caller has already built.
+    public static <T> List<T> intersectionWithSet(List<T> list, Set<?> set) {
+        if (list == null || set == null) {
+            return new ArrayList<>();
+        }
+        return list.stream().filter(set::contains).collect(Collectors.toList());
+    }
+
+    // Elements of list1 whose key matches the key of some element of list2.
+    public static <T, K> List<T> intersectionBy(List<T> list1, List<T> list2, Function<? super T, K> keyExtractor) {
+        if (list1 == null || list2 == null) {
+            return new ArrayList<>();
+        }
+        Set<K> keys = list2.stream().map(keyExtractor).collect(Collectors.toCollection(HashSet::new));
+        return list1.stream().filter(e -> keys.contains(keyExtractor.apply(e))).collect(Collectors.toList());
     }
 
+    // Builds the lookup set on the calling thread and filters list1 in parallel; order is kept.
+    public static <T> List<T> parallelIntersection(List<T> list1, List<T> list2) {
+        if (list1 == null || list2 == null) {
+            return new ArrayList<>();
+        }
+        Set<T> set = new HashSet<>(list2);
+        if (list1.size() < PARALLEL_THRESHOLD) {
+            return intersectionWithSet(list1, set);
+        }
+        return list1.parallelStream().filter(set::contains).collect(Collectors.toList());
+    }
+
+    // Elements of list1 (duplicates and order kept) that do not occur in list2, in O(n + m).
     public static <T> List<T> difference(List<T> list1, List<T> list2) {
         if (list1 == null) {
             return new ArrayList<>();
@@ -203,9 +258,44 @@ public class CollectionUtils {
         if (list2 == null) {
             return new ArrayList<>(list1);
         }
-        List<T> result = new ArrayList<>(list1);
-        result.removeAll(list2);
-        return result;
+        return differenceWithSet(list1, new HashSet<>(list2));
+    }
+
+    // Like difference, with a lookup set the caller has already built.
+    public static <T> List<T> differenceWithSet(List<T> list, Set<?> set) {
+        if (list == null) {
+            return new ArrayList<>();
+        }
+        if (set == null) {
+            return new ArrayList<>(list);
+        }
+        return list.stream().filter(e -> !set.contains(e)).collect(Collectors.toList());
+    }
+
+    // Elements of list1 whose key matches the key of no element of list2.
+    public static <T, K> List<T> differenceBy(List<T> list1, List<T> list2, Function<? super T, K> keyExtractor) {
+        if (list1 == null) {
+            return new ArrayList<>();
+        }
+        if (list2 == null) {
+            return new ArrayList<>(list1);
+        }
+        Set<K> keys = list2.stream().map(keyExtractor).collect(Collectors.toCollection(HashSet::new));
+        return list1.stream().filter(e -> !keys.contains(keyExtractor.apply(e))).collect(Collectors.toList());
+    }
+
+    public static <T> List<T> parallelDifference(List<T> list1, List<T> list2) {
+        if (list1 == null) {
+            return new ArrayList<>();
+        }
+        if (list2 == null) {
+            return new ArrayList<>(list1);
+        }
+        Set<T> set = new HashSet<>(list2);
+        if (list1.size() < PARALLEL_THRESHOLD) {
+            return differenceWithSet(list1, set);
+        }
+        return list1.parallelStream().filter(e -> !set.contains(e)).collect(Collectors.toList());
     }
 
     public static <T> List<T> concat(List<T>... lists) {
@@ -218,6 +308,20 @@ public class CollectionUtils {
         return result;
     }
 
+    // The *View methods return read-only RandomAccess views that read through to the source
+    // instead of copying it; see ListViews for how they behave when the source changes.
+    @SafeVarargs
+    public static <T> List<T> concatView(List<? extends T>... lists) {
+        if (lists == null) {
+            return Collections.emptyList();
+        }
+        List<List<? extends T>> parts = new ArrayList<>(lists.length);
+        for (List<? extends T> list : lists) {
+            parts.add(list);
+        }
+        return new ListViews.Concatenated<>(parts);
+    }
+
     public static <T> List<T> reverse(List<T> list) {
         if (list == null) {
             return new ArrayList<>();
@@ -227,6 +331,13 @@ public class CollectionUtils {
         return reversed;
     }
 
+    public static <T> List<T> reverseView(List<T> list) {
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        return new ListViews.Reversed<>(list);
+    }
+
     public static <T> List<T> shuffle(List<T> list) {
         if (list == null) {
             return new ArrayList<>();
@@ -256,6 +367,13 @@ public class CollectionUtils {
         return partitions;
     }
 
+    public static <T> List<List<T>> partitionView(List<T> list, int size) {
+        if (list == null || size <= 0) {
+            return Collections.emptyList();
+        }
+        return new ListViews.Partitioned<>(list, size);
+    }
+
     public static <T> List<List<T>> chunkByCount(List<T> list, int chunks) {
         if (list == null || chunks <= 0) {
             return new ArrayList<>();
@@ -264,6 +382,13 @@ public class CollectionUtils {
         return partition(list, chunkSize);
     }
 
+    public static <T> List<List<T>> chunkByCountView(List<T> list, int chunks) {
+        if (list == null || chunks <= 0) {
+            return Collections.emptyList();
+        }
+        return new ListViews.ChunkedByCount<>(list, chunks);
+    }
+
     public static <T> Map<Boolean, List<T>> partitionBy(List<T> list, Predicate<T> predicate) {
         if (list == null) {
             return Map.of(true, new ArrayList<>(), false, new ArrayList<>());
@@ -271,6 +396,14 @@ public class CollectionUtils {
         return list.stream().collect(Collectors.partitioningBy(predicate));
     }
 
+    // Keeps encounter order in both lists; runs in parallel for large lists.
+    public static <T> Map<Boolean, List<T>> parallelPartitionBy(List<T> list, Predicate<T> predicate) {
+        if (list == null || list.size() < PARALLEL_THRESHOLD) {
+            return partitionBy(list, predicate);
+        }
+        return list.parallelStream().collect(Collectors.partitioningBy(predicate));
+    }
+
     public static <T, K> Map<K, List<T>> groupBy(List<T> list, Function<T, K> classifier) {
         if (list == null) {
             return new HashMap<>();
@@ -278,6 +411,14 @@ public class CollectionUtils {
         return list.stream().collect(Collectors.groupingBy(classifier));
     }
 
+    // Large lists are grouped concurrently, so elements within a group are not in encounter order.
+    public static <T, K> Map<K, List<T>> parallelGroupBy(List<T> list, Function<T, K> classifier) {
+        if (list == null || list.size() < PARALLEL_THRESHOLD) {
+            return groupBy(list, classifier);
+        }
+        return list.parallelStream().collect(Collectors.groupingByConcurrent(classifier));
+    }
+
     public static <T> List<T> flatten(List<List<T>> nestedList) {
         if (nestedList == null) {
             return new ArrayList<>();
@@ -332,6 +473,13 @@ public class CollectionUtils {
         return list.stream().limit(n).collect(Collectors.toList());
     }
 
+    public static <T> List<T> takeView(List<T> list, int n) {
+        if (list == null || n <= 0) {
+            return Collections.emptyList();
+        }
+        return new ListViews.Slice<>(list, 0, n);
+    }
+
     public static <T> List<T> skip(List<T> list, int n) {
         if (list == null || n <= 0) {
             return list != null ? new ArrayList<>(list) : new ArrayList<>();
@@ -339,6 +487,13 @@ public class CollectionUtils {
         return list.stream().skip(n).collect(Collectors.toList());
     }
 
+    public static <T> List<T> skipView(List<T> list, int n) {
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        return new ListViews.Slice<>(list, Math.max(0, n), Integer.MAX_VALUE);
+    }
+
     public static <T> List<T> takeWhile(List<T> list, Predicate<T> predicate) {
         if (list == null) {
             return new ArrayList<>();
@@ -386,14 +541,137 @@ public class CollectionUtils {
                 .collect(Collectors.toMap(e -> e, e -> 1, Integer::sum));
     }
 
+    // Drop-in for frequencies; large collections are counted in parallel into striped LongAdder
+    // counters.
+    public static <T> Map<T, Integer> parallelFrequencies(Collection<T> collection) {
+        if (collection == null) {
+            return new HashMap<>();
+        }
+        if (collection.size() < PARALLEL_THRESHOLD) {
+            Map<T, Integer> counts = new HashMap<>();
+            for (T element : collection) {
+                counts.merge(element, 1, Integer::sum);
+            }
+            return counts;
+        }
+        ConcurrentHashMap<T, LongAdder> counters = new ConcurrentHashMap<>();
+        LongAdder nulls = new LongAdder();
+        collection.parallelStream().forEach(element -> {
+            if (element == null) {
+                nulls.increment();
+            } else {
+                counters.computeIfAbsent(element, key -> new LongAdder()).increment();
+            }
+        });
+        Map<T, Integer> counts = new HashMap<>(counters.size() * 4 / 3 + 1);
+        counters.forEach((key, counter) -> counts.put(key, counter.intValue()));
+        if (nulls.sum() > 0) {
+            counts.put(null, nulls.intValue());
+        }
+        return counts;
+    }
+
+    // Single pass; on ties the element that first reached the highest count wins.
     public static <T> T mostFrequent(Collection<T> collection) {
         if (collection == null || collection.isEmpty()) {
             return null;
         }
-        return frequencies(collection).entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
+        Map<T, int[]> counts = new HashMap<>();
+        T best = null;
+        int bestCount = 0;
+        for (T element : collection) {
+            int count = ++counts.computeIfAbsent(element, key -> new int[1])[0];
+            if (count > bestCount) {
+                bestCount = count;
+                best = element;
+            }
+        }
+        return best;
+    }
+
+    // The k most frequent elements with their counts, most frequent first. Ties go to the
+    // element seen first. Selection keeps a heap of at most k entries.
+    public static <T> List<Map.Entry<T, Long>> topK(Collection<T> collection, int k) {
+        if (collection == null || k <= 0) {
+            return new ArrayList<>();
+        }
+        Map<T, long[]> counts = new LinkedHashMap<>();
+        for (T element : collection) {
+            counts.computeIfAbsent(element, key -> new long[2])[0]++;
+        }
+        long order = 0;
+        for (long[] count : counts.values()) {
+            count[1] = order++;
+        }
+        Comparator<Map.Entry<T, long[]>> byRank = Comparator
+                .comparingLong((Map.Entry<T, long[]> e) -> e.getValue()[0])
+                .thenComparing(e -> e.getValue()[1], Comparator.reverseOrder());
+        PriorityQueue<Map.Entry<T, long[]>> heap = new PriorityQueue<>(Math.min(k, counts.size()) + 1, byRank);
+        for (Map.Entry<T, long[]> entry : counts.entrySet()) {
+            if (heap.size() < k) {
+                heap.add(entry);
+            } else if (byRank.compare(entry, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<T, Long>> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<T, long[]> entry = heap.poll();
+            result.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()[0]));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    // Count-Min sketch of the elements; estimates overcount by at most epsilon * total,
+    // with probability at least 1 - delta.
+    public static CountMinSketch approximateFrequencies(Iterable<?> elements, double epsilon, double delta) {
+        CountMinSketch sketch = CountMinSketch.withErrorBounds(epsilon, delta);
+        if (elements != null) {
+            forEachMaybeParallel(elements, sketch::add);
+        }
+        return sketch;
+    }
+
+    // Space-Saving top-k in memory bounded by max(k, 1 / epsilon); counts overestimate by at
+    // most epsilon * total.
+    public static <T> List<Map.Entry<T, Long>> approximateTopK(Iterable<T> elements, int k, double epsilon) {
+        SpaceSaving<T> summary = SpaceSaving.withErrorBound(epsilon);
+        if (summary.getCapacity() < k) {
+            summary = new SpaceSaving<>(k);
+        }
+        if (elements != null) {
+            for (T element : elements) {
+                summary.add(element);
+            }
+        }
+        return summary.topK(k);
+    }
+
+    public static long approximateDistinctCount(Iterable<?> elements) {
+        return approximateDistinctCount(elements, new HyperLogLog());
+    }
+
+    // HyperLogLog estimate with standard error at most relativeError.
+    public static long approximateDistinctCount(Iterable<?> elements, double relativeError) {
+        return approximateDistinctCount(elements, HyperLogLog.withRelativeError(relativeError));
+    }
+
+    private static long approximateDistinctCount(Iterable<?> elements, HyperLogLog sketch) {
+        if (elements != null) {
+            forEachMaybeParallel(elements, sketch::add);
+        }
+        return sketch.estimate();
+    }
+
+    // Large collections are fed to thread-safe sketches in parallel.
+    private static <T> void forEachMaybeParallel(Iterable<T> elements, Consumer<? super T> action) {
+        if (elements instanceof Collection && ((Collection<T>) elements).size() >= PARALLEL_THRESHOLD) {
+            ((Collection<T>) elements).parallelStream().forEach(action);
+        } else {
+            elements.forEach(action);
+        }
     }
 
     public static <T> List<T> rotate(List<T> list, int distance) {
@@ -405,6 +683,13 @@ public class CollectionUtils {
         return rotated;
     }
 
+    public static <T> List<T> rotateView(List<T> list, int distance) {
+        if (list == null) {
+            return Collections.emptyList();
+        }
+        return new ListViews.Rotated<>(list, distance);
+    }
+
     public static <T> List<T> fill(int size, T value) {
         List<T> list = new ArrayList<>(size);
         for (int i = 0; i < size; i++) {
@@ -0,0 +1,173 @@
+package com.oussama_chatri.collectionUtils;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only {@link RandomAccess} list views behind the {@code *View} methods of
+ * {@link CollectionUtils}. Creating a view is O(1). Every access maps the index back to the
+ * source, and sizes are recomputed from the source on every call, so all changes to the
+ * source show through. Unlike {@link List#subList}, the views never throw
+ * {@link java.util.ConcurrentModificationException}. If the source is structurally modified
+ * while a view is being iterated, the results are unspecified.
+ */
+final class ListViews {
+
+    private ListViews() {
+    }
+
+    // source[from .. from + length), clipped to the current size of the source.
+    static final class Slice<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> source;
+        private final int from;
+        private final int length;
+
+        Slice(List<T> source, int from, int length) {
+            this.source = source;
+            this.from = from;
+            this.length = length;
+        }
+
+        @Override
+        public T get(int index) {
+            checkIndex(index, size());
+            return source.get(from + index);
+        }
+
+        @Override
+        public int size() {
+            return Math.max(0, Math.min(length, source.size() - from));
+        }
+    }
+
+    static final class Reversed<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> source;
+
+        Reversed(List<T> source) {
+            this.source = source;
+        }
+
+        @Override
+        public T get(int index) {
+            int size = source.size();
+            checkIndex(index, size);
+            return source.get(size - 1 - index);
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+    }
+
+    // Same element order as Collections.rotate(copy, distance).
+    static final class Rotated<T> extends AbstractList<T> implements RandomAccess {
+        private final List<T> source;
+        private final int distance;
+
+        Rotated(List<T> source, int distance) {
+            this.source = source;
+            this.distance = distance;
+        }
+
+        @Override
+        public T get(int index) {
+            int size = source.size();
+            checkIndex(index, size);
+            return source.get(Math.floorMod((long) index - distance, size));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+    }
+
+    // Element lookup walks the parts, so access costs O(number of parts).
+    static final class Concatenated<T> extends AbstractList<T> implements RandomAccess {
+        private final List<List<? extends T>> parts;
+
+        Concatenated(List<List<? extends T>> parts) {
+            this.parts = parts;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index >= 0) {
+                int offset = index;
+                for (List<? extends T> part : parts) {
+                    if (part == null) continue;
+                    int size = part.size();
+                    if (offset < size) {
+                        return part.get(offset);
+                    }
+                    offset -= size;
+                }
+            }
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+
+        @Override
+        public int size() {
+            long size = 0;
+            for (List<? extends T> part : parts) {
+                if (part != null) size += part.size();
+            }
+            return (int) Math.min(size, Integer.MAX_VALUE);
+        }
+    }
+
+    // Consecutive slices of chunkSize() elements; the last may be shorter.
+    static class Partitioned<T> extends AbstractList<List<T>> implements RandomAccess {
+        final List<T> source;
+        private final int size;
+
+        Partitioned(List<T> source, int size) {
+            this.source = source;
+            this.size = size;
+        }
+
+        int chunkSize() {
+            return size;
+        }
+
+        @Override
+        public List<T> get(int index) {
+            checkIndex(index, size());
+            int chunkSize = chunkSize();
+            return new Slice<>(source, index * chunkSize, chunkSize);
+        }
+
+        @Override
+        public int size() {
+            int chunkSize = chunkSize();
+            if (chunkSize == 0) {
+                return 0;
+            }
+            int sourceSize = source.size();
+            return sourceSize / chunkSize + (sourceSize % chunkSize == 0 ? 0 : 1);
+        }
+    }
+
+    // Partitioned with the chunk size derived from the current source size, as in chunkByCount.
+    static final class ChunkedByCount<T> extends Partitioned<T> {
+        private final int chunks;
+
+        ChunkedByCount(List<T> source, int chunks) {
+            super(source, 0);
+            this.chunks = chunks;
+        }
+
+        @Override
+        int chunkSize() {
+            return (int) Math.ceil((double) source.size() / chunks);
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
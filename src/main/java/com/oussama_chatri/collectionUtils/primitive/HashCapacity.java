@@ -0,0 +1,25 @@
+package com.oussama_chatri.collectionUtils.primitive;
+
+// Table sizing shared by the open-addressing collections: power-of-two, at most 3/4 full.
+final class HashCapacity {
+
+    static final int MIN_CAPACITY = 8;
+
+    private HashCapacity() {
+    }
+
+    static int forExpectedSize(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative");
+        }
+        long needed = (long) expectedSize * 4 / 3 + 1;
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Expected size too large");
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    static int resizeThreshold(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+}
@@ -0,0 +1,225 @@
+package com.oussama_chatri.collectionUtils.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from {@code int} keys to {@code int} values, with no boxing.
+ * <p>
+ * Keys and values live in two parallel arrays whose length is a power of two. Slots are
+ * found by Fibonacci hashing (multiply by 2^64 / phi, keep the top bits), so sequential
+ * IDs spread evenly. Collisions use linear probing. The table doubles once it is three
+ * quarters full. Removal shifts later entries back instead of leaving tombstones. Key 0
+ * marks an empty slot, so that key is stored separately.
+ */
+public final class IntIntMap {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private int[] keys;
+    private int[] values;
+    private int shift;
+    private int assigned;
+    private int resizeAt;
+    private boolean hasZeroKey;
+    private int zeroValue;
+
+    public IntIntMap() {
+        this(HashCapacity.MIN_CAPACITY / 2);
+    }
+
+    public IntIntMap(int expectedSize) {
+        allocate(HashCapacity.forExpectedSize(expectedSize));
+    }
+
+    public int size() {
+        return assigned + (hasZeroKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : slot(key) >= 0;
+    }
+
+    public int get(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        int slot = slot(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        if (slot >= 0) {
+            values[slot] = value;
+        } else {
+            insert(-slot - 1, key, value);
+        }
+    }
+
+    // Adds delta to the value for key (absent keys start at 0) and returns the new value.
+    public int addTo(int key, int delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        int slot = slot(key);
+        if (slot >= 0) {
+            return values[slot] += delta;
+        }
+        insert(-slot - 1, key, delta);
+        return delta;
+    }
+
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return had;
+        }
+        int slot = slot(key);
+        if (slot < 0) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            int home = hash(keys[j]);
+            // Move the entry into the gap if the gap lies on its probe path.
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+        assigned--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, 0);
+        assigned = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public void forEach(EntryConsumer action) {
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    // Keys in table order; keys()[i] is paired with values()[i].
+    public int[] keys() {
+        int[] result = new int[size()];
+        int index = 0;
+        if (hasZeroKey) {
+            result[index++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    public int[] values() {
+        int[] result = new int[size()];
+        int index = 0;
+        if (hasZeroKey) {
+            result[index++] = zeroValue;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                result[index++] = values[i];
+            }
+        }
+        return result;
+    }
+
+    private int hash(int key) {
+        return (int) ((key * PHI) >>> shift);
+    }
+
+    // Index of key, or -(insertion point) - 1 if absent.
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int i = hash(key);
+        while (true) {
+            int existing = keys[i];
+            if (existing == key) {
+                return i;
+            }
+            if (existing == 0) {
+                return -i - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void insert(int slot, int key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++assigned >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            int key = oldKeys[i];
+            if (key != 0) {
+                int j = hash(key);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = HashCapacity.resizeThreshold(capacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+}
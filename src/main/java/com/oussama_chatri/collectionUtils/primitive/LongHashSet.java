@@ -0,0 +1,178 @@
+package com.oussama_chatri.collectionUtils.primitive;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of {@code long} values, with no boxing. Uses the same layout as
+ * {@link LongIntMap}: a power-of-two table, Fibonacci hashing, linear probing and
+ * backward-shift removal. Value 0 marks an empty slot, so it is tracked separately.
+ */
+public final class LongHashSet {
+
+    private static final long PHI = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private int shift;
+    private int assigned;
+    private int resizeAt;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(HashCapacity.MIN_CAPACITY / 2);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(HashCapacity.forExpectedSize(expectedSize));
+    }
+
+    public static LongHashSet of(long... values) {
+        LongHashSet set = new LongHashSet(values.length);
+        set.addAll(values);
+        return set;
+    }
+
+    public int size() {
+        return assigned + (hasZero ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean contains(long value) {
+        return value == 0 ? hasZero : slot(value) >= 0;
+    }
+
+    // Returns true if the value was not already present.
+    public boolean add(long value) {
+        if (value == 0) {
+            boolean added = !hasZero;
+            hasZero = true;
+            return added;
+        }
+        int slot = slot(value);
+        if (slot >= 0) {
+            return false;
+        }
+        keys[-slot - 1] = value;
+        if (++assigned >= resizeAt) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public void addAll(long... values) {
+        for (long value : values) {
+            add(value);
+        }
+    }
+
+    public boolean remove(long value) {
+        if (value == 0) {
+            boolean had = hasZero;
+            hasZero = false;
+            return had;
+        }
+        int slot = slot(value);
+        if (slot < 0) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int j = (gap + 1) & mask; keys[j] != 0; j = (j + 1) & mask) {
+            int home = hash(keys[j]);
+            // Move the entry into the gap if the gap lies on its probe path.
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                gap = j;
+            }
+        }
+        keys[gap] = 0;
+        assigned--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        assigned = 0;
+        hasZero = false;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    // Values in table order, not insertion order.
+    public long[] toArray() {
+        long[] result = new long[size()];
+        int index = 0;
+        if (hasZero) {
+            result[index++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    private int hash(long value) {
+        return (int) ((value * PHI) >>> shift);
+    }
+
+    // Index of value, or -(insertion point) - 1 if absent.
+    private int slot(long value) {
+        int mask = keys.length - 1;
+        int i = hash(value);
+        while (true) {
+            long existing = keys[i];
+            if (existing == value) {
+                return i;
+            }
+            if (existing == 0) {
+                return -i - 1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int j = hash(key);
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = HashCapacity.resizeThreshold(capacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        forEach(value -> {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(value);
+        });
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,196 @@
+package com.oussama_chatri.collectionUtils.primitive;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Counterparts of the {@code CollectionUtils} list operations for {@link IntList} and
+ * {@link LongList}. Elements stay primitive throughout. A {@code null} list is treated as
+ * empty, as in {@code CollectionUtils}.
+ */
+public final class PrimitiveCollections {
+
+    private PrimitiveCollections() {
+    }
+
+    // Values start, start + 1, ..., end - 1.
+    public static IntList range(int start, int end) {
+        IntList list = new IntList(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    public static IntList filter(IntList list, IntPredicate predicate) {
+        IntList result = new IntList();
+        if (list == null) {
+            return result;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            int value = list.get(i);
+            if (predicate.test(value)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    public static LongList filter(LongList list, LongPredicate predicate) {
+        LongList result = new LongList();
+        if (list == null) {
+            return result;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            long value = list.get(i);
+            if (predicate.test(value)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    public static IntList map(IntList list, IntUnaryOperator mapper) {
+        if (list == null) {
+            return new IntList();
+        }
+        IntList result = new IntList(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            result.add(mapper.applyAsInt(list.get(i)));
+        }
+        return result;
+    }
+
+    public static LongList map(LongList list, LongUnaryOperator mapper) {
+        if (list == null) {
+            return new LongList();
+        }
+        LongList result = new LongList(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            result.add(mapper.applyAsLong(list.get(i)));
+        }
+        return result;
+    }
+
+    // First occurrence of each value, in the original order.
+    public static IntList distinct(IntList list) {
+        IntList result = new IntList();
+        if (list == null) {
+            return result;
+        }
+        LongHashSet seen = new LongHashSet(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            int value = list.get(i);
+            if (seen.add(value)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    public static LongList distinct(LongList list) {
+        LongList result = new LongList();
+        if (list == null) {
+            return result;
+        }
+        LongHashSet seen = new LongHashSet(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            long value = list.get(i);
+            if (seen.add(value)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    public static IntIntMap frequencies(IntList list) {
+        IntIntMap counts = new IntIntMap();
+        if (list == null) {
+            return counts;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            counts.addTo(list.get(i), 1);
+        }
+        return counts;
+    }
+
+    public static LongIntMap frequencies(LongList list) {
+        LongIntMap counts = new LongIntMap();
+        if (list == null) {
+            return counts;
+        }
+        for (int i = 0; i < list.size(); i++) {
+            counts.addTo(list.get(i), 1);
+        }
+        return counts;
+    }
+
+    // Consecutive chunks of the given size; the last may be shorter.
+    public static List<IntList> partition(IntList list, int size) {
+        List<IntList> partitions = new ArrayList<>();
+        if (list == null || size <= 0) {
+            return partitions;
+        }
+        for (int from = 0; from < list.size(); from += size) {
+            int to = Math.min(from + size, list.size());
+            IntList chunk = new IntList(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(list.get(i));
+            }
+            partitions.add(chunk);
+        }
+        return partitions;
+    }
+
+    public static List<LongList> partition(LongList list, int size) {
+        List<LongList> partitions = new ArrayList<>();
+        if (list == null || size <= 0) {
+            return partitions;
+        }
+        for (int from = 0; from < list.size(); from += size) {
+            int to = Math.min(from + size, list.size());
+            LongList chunk = new LongList(to - from);
+            for (int i = from; i < to; i++) {
+                chunk.add(list.get(i));
+            }
+            partitions.add(chunk);
+        }
+        return partitions;
+    }
+
+    public static Map<Boolean, IntList> partitionBy(IntList list, IntPredicate predicate) {
+        IntList matching = new IntList();
+        IntList rest = new IntList();
+        if (list != null) {
+            for (int i = 0; i < list.size(); i++) {
+                int value = list.get(i);
+                (predicate.test(value) ? matching : rest).add(value);
+            }
+        }
+        Map<Boolean, IntList> result = new HashMap<>();
+        result.put(true, matching);
+        result.put(false, rest);
+        return result;
+    }
+
+    public static Map<Boolean, LongList> partitionBy(LongList list, LongPredicate predicate) {
+        LongList matching = new LongList();
+        LongList rest = new LongList();
+        if (list != null) {
+            for (int i = 0; i < list.size(); i++) {
+                long value = list.get(i);
+                (predicate.test(value) ? matching : rest).add(value);
+            }
+        }
+        Map<Boolean, LongList> result = new HashMap<>();
+        result.put(true, matching);
+        result.put(false, rest);
+        return result;
+    }
+}
@@ -0,0 +1,149 @@
+package com.oussama_chatri.collectionUtils.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-Min sketch: approximate frequencies in fixed memory, independent of the number of
+ * distinct elements.
+ * <p>
+ * Estimates never undercount. With width {@code w} and depth {@code d}, an estimate exceeds
+ * the true count by more than {@code e / w} of the total count with probability at most
+ * {@code exp(-d)}. {@link #withErrorBounds} picks the dimensions from those two bounds.
+ * Counters are atomic, so {@link #add} may be called from any number of threads without
+ * locking. Sketches with the same dimensions can be merged, and {@link #toByteArray} /
+ * {@link #fromByteArray} move them between nodes.
+ */
+public final class CountMinSketch {
+
+    private static final int SERIAL_VERSION = 1;
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+    private final LongAdder totalCount = new LongAdder();
+
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("Width and depth must be positive");
+        }
+        if ((long) width * depth > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Sketch too large");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    // Overestimates by at most epsilon * total count, with probability at least 1 - delta.
+    public static CountMinSketch withErrorBounds(double epsilon, double delta) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("Epsilon and delta must be between 0 and 1");
+        }
+        return new CountMinSketch((int) Math.ceil(Math.E / epsilon), (int) Math.ceil(Math.log(1 / delta)));
+    }
+
+    public void add(Object element) {
+        add(element, 1);
+    }
+
+    public void add(Object element, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative");
+        }
+        long hash = SketchHashing.hash(element);
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(index(hash, row), count);
+        }
+        totalCount.add(count);
+    }
+
+    public long estimate(Object element) {
+        long hash = SketchHashing.hash(element);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(hash, row)));
+        }
+        return min;
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    // Bound on overestimation as a fraction of the total count.
+    public double getRelativeError() {
+        return Math.E / width;
+    }
+
+    // Probability that an estimate stays within the relative error.
+    public double getConfidence() {
+        return 1 - Math.exp(-depth);
+    }
+
+    public void merge(CountMinSketch other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a sketch into itself");
+        }
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Sketches must have the same width and depth");
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            long value = other.counters.get(i);
+            if (value != 0) {
+                counters.addAndGet(i, value);
+            }
+        }
+        totalCount.add(other.getTotalCount());
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 4 + 8 + 8 * counters.length());
+        buffer.putInt(SERIAL_VERSION);
+        buffer.putInt(width);
+        buffer.putInt(depth);
+        buffer.putLong(getTotalCount());
+        for (int i = 0; i < counters.length(); i++) {
+            buffer.putLong(counters.get(i));
+        }
+        return buffer.array();
+    }
+
+    public static CountMinSketch fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            if (buffer.getInt() != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format");
+            }
+            int width = buffer.getInt();
+            int depth = buffer.getInt();
+            if (width < 1 || depth < 1 || (long) width * depth != buffer.remaining() / 8 - 1) {
+                throw new IllegalArgumentException("Corrupt sketch data");
+            }
+            CountMinSketch sketch = new CountMinSketch(width, depth);
+            sketch.totalCount.add(buffer.getLong());
+            for (int i = 0; i < sketch.counters.length(); i++) {
+                sketch.counters.set(i, buffer.getLong());
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt sketch data", e);
+        }
+    }
+
+    // Row hashes h1 + row * h2 (Kirsch-Mitzenmacher), mapped to [0, width) by multiply-shift.
+    private int index(long hash, int row) {
+        int combined = (int) hash + row * ((int) (hash >>> 32) | 1);
+        return row * width + (int) (((combined & 0xFFFFFFFFL) * width) >>> 32);
+    }
+}
@@ -0,0 +1,93 @@
+package com.oussama_chatri.collectionUtils.sketch;
+
+// 64-bit element hashes shared by the sketches. Character sequences, byte arrays and numbers
+// are hashed from their content with MurmurHash3-style mixing, so they do not collide at the
+// 2^32 limit of hashCode() and agree across JVMs. Integral numbers hash by value (Integer 5
+// and Long 5 match), as do floating-point ones (Float 1.5f and Double 1.5 match). Any other
+// element goes through its hashCode(), so it has at most 2^32 distinct hashes.
+final class SketchHashing {
+
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
+    private SketchHashing() {
+    }
+
+    static long hash(Object element) {
+        if (element instanceof CharSequence) {
+            return hash((CharSequence) element);
+        }
+        if (element instanceof byte[]) {
+            return hash((byte[]) element);
+        }
+        if (element instanceof Long || element instanceof Integer
+                || element instanceof Short || element instanceof Byte) {
+            return mix(((Number) element).longValue());
+        }
+        if (element instanceof Double || element instanceof Float) {
+            return mix(Double.doubleToLongBits(((Number) element).doubleValue()));
+        }
+        return mix(element == null ? 0 : element.hashCode());
+    }
+
+    // Four chars per 64-bit block.
+    static long hash(CharSequence chars) {
+        int length = chars.length();
+        long h = 0;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long block = chars.charAt(i)
+                    | (long) chars.charAt(i + 1) << 16
+                    | (long) chars.charAt(i + 2) << 32
+                    | (long) chars.charAt(i + 3) << 48;
+            h = mixBlock(h, block);
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) chars.charAt(i) << shift;
+        }
+        return finish(h, tail, length);
+    }
+
+    // Eight bytes per 64-bit block.
+    static long hash(byte[] bytes) {
+        long h = 0;
+        int i = 0;
+        for (; i + 8 <= bytes.length; i += 8) {
+            long block = 0;
+            for (int j = 7; j >= 0; j--) {
+                block = block << 8 | (bytes[i + j] & 0xFFL);
+            }
+            h = mixBlock(h, block);
+        }
+        long tail = 0;
+        for (int shift = 0; i < bytes.length; i++, shift += 8) {
+            tail |= (bytes[i] & 0xFFL) << shift;
+        }
+        return finish(h, tail, bytes.length);
+    }
+
+    // MurmurHash3 fmix64 finalizer; a bijection, so distinct inputs never collide.
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE53F5A8BL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long mixBlock(long h, long block) {
+        h ^= scramble(block);
+        return Long.rotateLeft(h, 27) * 5 + 0x52DCE729;
+    }
+
+    private static long finish(long h, long tail, int length) {
+        h ^= scramble(tail);
+        return mix(h ^ length);
+    }
+
+    private static long scramble(long block) {
+        return Long.rotateLeft(block * C1, 31) * C2;
+    }
+}
@@ -0,0 +1,282 @@
+package com.oussama_chatri.collectionUtils.sketch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Space-Saving heavy-hitters summary: approximate counts and top-k over a stream while
+ * monitoring at most {@code capacity} elements.
+ * <p>
+ * Each monitored element has a count that never undercounts and an error bound. The
+ * overestimate is never more than {@code total / capacity}, so every element occurring more
+ * often than that is monitored. {@link #withErrorBound} sizes the summary from that bound.
+ * The counters sit in a min-heap indexed by a hash map. A new element evicts the smallest
+ * counter and inherits its count as error, so an update costs O(log capacity). All methods
+ * synchronize on the summary. Summaries merge as in Agarwal et al., "Mergeable Summaries"
+ * (2012).
+ */
+public final class SpaceSaving<T> {
+
+    private static final int SERIAL_VERSION = 1;
+
+    private final int capacity;
+    private final Map<T, Counter<T>> index;
+    private Counter<T>[] heap;
+    private int size;
+    private long totalCount;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.index = new HashMap<>();
+        this.heap = (Counter<T>[]) new Counter[Math.min(capacity, 16)];
+    }
+
+    // Counts overestimate by at most epsilon * total count.
+    public static <T> SpaceSaving<T> withErrorBound(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("Epsilon must be between 0 and 1");
+        }
+        return new SpaceSaving<>((int) Math.ceil(1 / epsilon));
+    }
+
+    public void add(T element) {
+        add(element, 1);
+    }
+
+    public synchronized void add(T element, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must be non-negative");
+        }
+        totalCount += count;
+        Counter<T> counter = index.get(element);
+        if (counter != null) {
+            counter.count += count;
+            siftDown(counter.position);
+        } else if (size < capacity) {
+            insert(new Counter<>(element, count, 0));
+        } else {
+            Counter<T> min = heap[0];
+            index.remove(min.element);
+            min.element = element;
+            min.error = min.count;
+            min.count += count;
+            index.put(element, min);
+            siftDown(0);
+        }
+    }
+
+    // Upper bound on the element's count; 0 if it is not monitored.
+    public synchronized long estimate(T element) {
+        Counter<T> counter = index.get(element);
+        return counter == null ? 0 : counter.count;
+    }
+
+    // Count the element is guaranteed to have reached; 0 if it is not monitored.
+    public synchronized long guaranteedCount(T element) {
+        Counter<T> counter = index.get(element);
+        return counter == null ? 0 : counter.count - counter.error;
+    }
+
+    // The k largest monitored counts, largest first.
+    public synchronized List<Map.Entry<T, Long>> topK(int k) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        Counter<T>[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, Comparator.comparingLong((Counter<T> c) -> c.count).reversed());
+        List<Map.Entry<T, Long>> result = new ArrayList<>(Math.min(k, size));
+        for (int i = 0; i < Math.min(k, size); i++) {
+            result.add(new AbstractMap.SimpleImmutableEntry<>(sorted[i].element, sorted[i].count));
+        }
+        return result;
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Elements missing from one summary are credited with its minimum count, then the
+    // capacity largest counters are kept.
+    public void merge(SpaceSaving<? extends T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a sketch into itself");
+        }
+        List<Counter<T>> incoming = new ArrayList<>();
+        long incomingTotal;
+        long incomingMin;
+        synchronized (other) {
+            for (int i = 0; i < other.size; i++) {
+                Counter<? extends T> counter = other.heap[i];
+                incoming.add(new Counter<>(counter.element, counter.count, counter.error));
+            }
+            incomingTotal = other.totalCount;
+            incomingMin = other.minimumCount();
+        }
+        synchronized (this) {
+            long ownMin = minimumCount();
+            Map<T, Counter<T>> combined = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                Counter<T> counter = heap[i];
+                combined.put(counter.element,
+                        new Counter<>(counter.element, counter.count + incomingMin, counter.error + incomingMin));
+            }
+            for (Counter<T> counter : incoming) {
+                Counter<T> existing = combined.get(counter.element);
+                if (existing == null) {
+                    combined.put(counter.element,
+                            new Counter<>(counter.element, counter.count + ownMin, counter.error + ownMin));
+                } else {
+                    existing.count += counter.count - incomingMin;
+                    existing.error += counter.error - incomingMin;
+                }
+            }
+            List<Counter<T>> counters = new ArrayList<>(combined.values());
+            counters.sort(Comparator.comparingLong((Counter<T> c) -> c.count).reversed());
+            index.clear();
+            size = 0;
+            for (int i = 0; i < Math.min(capacity, counters.size()); i++) {
+                insert(counters.get(i));
+            }
+            totalCount += incomingTotal;
+        }
+    }
+
+    // Elements are written with the given encoder; fromByteArray needs the matching decoder.
+    public synchronized byte[] toByteArray(Function<? super T, byte[]> encoder) {
+        byte[][] encoded = new byte[size][];
+        int length = 4 + 4 + 8 + 4;
+        for (int i = 0; i < size; i++) {
+            encoded[i] = encoder.apply(heap[i].element);
+            length += 8 + 8 + 4 + encoded[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(SERIAL_VERSION);
+        buffer.putInt(capacity);
+        buffer.putLong(totalCount);
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(heap[i].count);
+            buffer.putLong(heap[i].error);
+            buffer.putInt(encoded[i].length);
+            buffer.put(encoded[i]);
+        }
+        return buffer.array();
+    }
+
+    public static <T> SpaceSaving<T> fromByteArray(byte[] bytes, Function<byte[], ? extends T> decoder) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            if (buffer.getInt() != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format");
+            }
+            SpaceSaving<T> sketch = new SpaceSaving<>(buffer.getInt());
+            sketch.totalCount = buffer.getLong();
+            int size = buffer.getInt();
+            if (size < 0 || size > sketch.capacity) {
+                throw new IllegalArgumentException("Corrupt sketch data");
+            }
+            for (int i = 0; i < size; i++) {
+                long count = buffer.getLong();
+                long error = buffer.getLong();
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IllegalArgumentException("Corrupt sketch data");
+                }
+                byte[] element = new byte[length];
+                buffer.get(element);
+                sketch.insert(new Counter<>(decoder.apply(element), count, error));
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt sketch data", e);
+        }
+    }
+
+    // Count every unmonitored element may already have; 0 until the summary is full.
+    private long minimumCount() {
+        return size < capacity ? 0 : heap[0].count;
+    }
+
+    private void insert(Counter<T> counter) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, Math.min(capacity, heap.length * 2));
+        }
+        index.put(counter.element, counter);
+        heap[size] = counter;
+        counter.position = size;
+        siftUp(size++);
+    }
+
+    private void siftUp(int position) {
+        Counter<T> counter = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], position);
+            position = parent;
+        }
+        place(counter, position);
+    }
+
+    private void siftDown(int position) {
+        Counter<T> counter = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], position);
+            position = child;
+        }
+        place(counter, position);
+    }
+
+    private void place(Counter<T> counter, int position) {
+        heap[position] = counter;
+        counter.position = position;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "SpaceSaving{capacity=" + capacity + ", size=" + size + ", totalCount=" + totalCount + "}";
+    }
+
+    private static final class Counter<T> {
+        T element;
+        long count;
+        long error;
+        int position;
+
+        Counter(T element, long count, long error) {
+            this.element = element;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -4,6 +4,8 @@ import java.util.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleUnaryOperator;
 
 public class AdvancedMathUtils {
 
@@ -11,6 +13,8 @@ public class AdvancedMathUtils {
         private double[][] data;
         private int rows;
         private int cols;
+        // Dropped by getData() and invalidate(); see getData().
+        private volatile LUDecomposition lu;
 
         public Matrix(int rows, int cols) {
             this.rows = rows;
@@ -58,13 +62,7 @@ public class AdvancedMathUtils {
                 throw new IllegalArgumentException("Invalid matrix dimensions for multiplication");
             }
             Matrix result = new Matrix(this.rows, other.cols);
-            for (int i = 0; i < this.rows; i++) {
-                for (int j = 0; j < other.cols; j++) {
-                    for (int k = 0; k < this.cols; k++) {
-                        result.data[i][j] += this.data[i][k] * other.data[k][j];
-                    }
-                }
-            }
+            result.data = MatrixMultiplier.multiply(this.data, other.data, this.rows, this.cols, other.cols);
             return result;
         }
 
@@ -92,38 +90,231 @@ public class AdvancedMathUtils {
             if (rows != cols) {
                 throw new IllegalArgumentException("Matrix must be square");
             }
-            return calculateDeterminant(data, rows);
+            return lu().determinant();
+        }
+
+        public Matrix inverse() {
+            if (rows != cols) {
+                throw new IllegalArgumentException("Matrix must be square");
+            }
+            return lu().inverse();
+        }
+
+        public Matrix solve(Matrix b) {
+            if (rows != cols) {
+                throw new IllegalArgumentException("Matrix must be square");
+            }
+            return lu().solve(b);
+        }
+
+        public double[] solve(double[] b) {
+            if (rows != cols) {
+                throw new IllegalArgumentException("Matrix must be square");
+            }
+            return lu().solve(b);
+        }
+
+        public LUDecomposition lu() {
+            LUDecomposition decomposition = lu;
+            if (decomposition == null) {
+                decomposition = new LUDecomposition(this);
+                lu = decomposition;
+            }
+            return decomposition;
+        }
+
+        // Returns the live backing array and drops the cached LU. If the array is written after a
+        // later determinant(), inverse(), solve() or lu() call, call invalidate() before the next.
+        public double[][] getData() {
+            lu = null;
+            return data;
+        }
+
+        // Drops the cached LU; needed only after writing to the array returned by getData().
+        public void invalidate() {
+            lu = null;
+        }
+
+        // Backing array for package code that only reads it or fills a fresh matrix.
+        double[][] rawData() {
+            return data;
+        }
+
+        int rows() {
+            return rows;
+        }
+
+        int cols() {
+            return cols;
+        }
+
+        public DenseMatrix toDenseMatrix() {
+            return new DenseMatrix(data);
+        }
+    }
+
+    /**
+     * LU decomposition with partial pivoting, {@code P * A = L * U}. Factoring costs O(n^3)
+     * once; each subsequent {@link #solve} costs O(n^2) per right-hand side column.
+     */
+    public static class LUDecomposition {
+        private final double[][] lu;
+        private final int[] pivot;
+        private final int n;
+        private int pivotSign = 1;
+        private boolean singular;
+
+        public LUDecomposition(Matrix matrix) {
+            if (matrix.rows != matrix.cols) {
+                throw new IllegalArgumentException("Matrix must be square");
+            }
+            this.n = matrix.rows;
+            this.lu = new double[n][];
+            this.pivot = new int[n];
+            for (int i = 0; i < n; i++) {
+                lu[i] = matrix.data[i].clone();
+                pivot[i] = i;
+            }
+            decompose();
         }
 
-        private double calculateDeterminant(double[][] matrix, int n) {
-            if (n == 1) return matrix[0][0];
-            if (n == 2) return matrix[0][0] * matrix[1][1] - matrix[0][1] * matrix[1][0];
+        private void decompose() {
+            for (int k = 0; k < n; k++) {
+                int p = k;
+                double max = Math.abs(lu[k][k]);
+                for (int i = k + 1; i < n; i++) {
+                    double value = Math.abs(lu[i][k]);
+                    if (value > max) {
+                        max = value;
+                        p = i;
+                    }
+                }
+                if (p != k) {
+                    double[] row = lu[p];
+                    lu[p] = lu[k];
+                    lu[k] = row;
+                    int index = pivot[p];
+                    pivot[p] = pivot[k];
+                    pivot[k] = index;
+                    pivotSign = -pivotSign;
+                }
 
-            double det = 0;
+                double[] pivotRow = lu[k];
+                double diagonal = pivotRow[k];
+                if (diagonal == 0) {
+                    singular = true;
+                    continue;
+                }
+                for (int i = k + 1; i < n; i++) {
+                    double[] row = lu[i];
+                    double factor = row[k] / diagonal;
+                    row[k] = factor;
+                    if (factor != 0) {
+                        for (int j = k + 1; j < n; j++) {
+                            row[j] -= factor * pivotRow[j];
+                        }
+                    }
+                }
+            }
+        }
+
+        public boolean isSingular() {
+            return singular;
+        }
+
+        public double determinant() {
+            if (singular) {
+                return 0;
+            }
+            double det = pivotSign;
             for (int i = 0; i < n; i++) {
-                det += Math.pow(-1, i) * matrix[0][i] * calculateDeterminant(getMinor(matrix, 0, i, n), n - 1);
+                det *= lu[i][i];
             }
             return det;
         }
 
-        private double[][] getMinor(double[][] matrix, int row, int col, int n) {
-            double[][] minor = new double[n - 1][n - 1];
-            int r = 0;
+        public double[] solve(double[] b) {
+            if (b.length != n) {
+                throw new IllegalArgumentException("Right-hand side length must match matrix size");
+            }
+            requireNonSingular();
+            double[] x = new double[n];
             for (int i = 0; i < n; i++) {
-                if (i == row) continue;
-                int c = 0;
-                for (int j = 0; j < n; j++) {
-                    if (j == col) continue;
-                    minor[r][c] = matrix[i][j];
-                    c++;
+                x[i] = b[pivot[i]];
+            }
+            for (int i = 1; i < n; i++) {
+                double[] row = lu[i];
+                double sum = x[i];
+                for (int j = 0; j < i; j++) {
+                    sum -= row[j] * x[j];
                 }
-                r++;
+                x[i] = sum;
             }
-            return minor;
+            for (int i = n - 1; i >= 0; i--) {
+                double[] row = lu[i];
+                double sum = x[i];
+                for (int j = i + 1; j < n; j++) {
+                    sum -= row[j] * x[j];
+                }
+                x[i] = sum / row[i];
+            }
+            return x;
         }
 
-        public double[][] getData() {
-            return data;
+        public Matrix solve(Matrix b) {
+            if (b.rows != n) {
+                throw new IllegalArgumentException("Matrix row dimensions must agree");
+            }
+            requireNonSingular();
+            int m = b.cols;
+            Matrix result = new Matrix(n, m);
+            double[][] x = result.data;
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(b.data[pivot[i]], 0, x[i], 0, m);
+            }
+            for (int k = 0; k < n; k++) {
+                double[] xk = x[k];
+                for (int i = k + 1; i < n; i++) {
+                    double factor = lu[i][k];
+                    if (factor != 0) {
+                        double[] xi = x[i];
+                        for (int j = 0; j < m; j++) {
+                            xi[j] -= xk[j] * factor;
+                        }
+                    }
+                }
+            }
+            for (int k = n - 1; k >= 0; k--) {
+                double[] xk = x[k];
+                double diagonal = lu[k][k];
+                for (int j = 0; j < m; j++) {
+                    xk[j] /= diagonal;
+                }
+                for (int i = 0; i < k; i++) {
+                    double factor = lu[i][k];
+                    if (factor != 0) {
+                        double[] xi = x[i];
+                        for (int j = 0; j < m; j++) {
+                            xi[j] -= xk[j] * factor;
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        public Matrix inverse() {
+            Matrix identity = new Matrix(n, n);
+            for (int i = 0; i < n; i++) {
+                identity.data[i][i] = 1;
+            }
+            return solve(identity);
+        }
+
+        private void requireNonSingular() {
+            if (singular) {
+                throw new ArithmeticException("Matrix is singular");
+            }
         }
     }
 
@@ -239,6 +430,14 @@ public class AdvancedMathUtils {
             return new Complex(r, i);
         }
 
+        public double getReal() {
+            return real;
+        }
+
+        public double getImaginary() {
+            return imaginary;
+        }
+
         public double magnitude() {
             return Math.sqrt(real * real + imaginary * imaginary);
         }
@@ -258,99 +457,247 @@ public class AdvancedMathUtils {
     }
 
     public static double[] solveQuadratic(double a, double b, double c) {
-        double discriminant = b * b - 4 * a * c;
-        if (discriminant < 0) {
-            return new double[0];
-        } else if (discriminant == 0) {
-            return new double[]{-b / (2 * a)};
-        } else {
-            double sqrt = Math.sqrt(discriminant);
-            return new double[]{
-                    (-b + sqrt) / (2 * a),
-                    (-b - sqrt) / (2 * a)
-            };
-        }
+        double[] roots = new double[2];
+        return Arrays.copyOf(roots, PolynomialRoots.quadratic(a, b, c, roots, 0));
+    }
+
+    // Solves a[i] x^2 + b[i] x + c[i] = 0 for every i, in parallel chunks for large batches.
+    // Missing roots are written as NaN; rootCounts may be null.
+    public static void solveQuadratic(double[] a, double[] b, double[] c,
+                                      double[] root1, double[] root2, int[] rootCounts) {
+        PolynomialRoots.quadratics(a, b, c, root1, root2, rootCounts);
     }
 
     public static double[] solveCubic(double a, double b, double c, double d) {
-        b /= a;
-        c /= a;
-        d /= a;
-
-        double q = (3 * c - b * b) / 9;
-        double r = (9 * b * c - 27 * d - 2 * b * b * b) / 54;
-        double discriminant = q * q * q + r * r;
-
-        double term1 = b / 3;
-
-        if (discriminant > 0) {
-            double s = r + Math.sqrt(discriminant);
-            s = Math.cbrt(s);
-            double t = r - Math.sqrt(discriminant);
-            t = Math.cbrt(t);
-            return new double[]{-term1 + s + t};
-        } else if (discriminant == 0) {
-            double rSign = (r >= 0) ? Math.cbrt(r) : -Math.cbrt(-r);
-            return new double[]{-term1 + 2 * rSign, -term1 - rSign};
-        } else {
-            q = -q;
-            double dum1 = Math.acos(r / Math.sqrt(q * q * q));
-            double r13 = 2 * Math.sqrt(q);
-            return new double[]{
-                    -term1 + r13 * Math.cos(dum1 / 3),
-                    -term1 + r13 * Math.cos((dum1 + 2 * Math.PI) / 3),
-                    -term1 + r13 * Math.cos((dum1 + 4 * Math.PI) / 3)
-            };
-        }
-    }
-
-    public static double integrate(java.util.function.Function<Double, Double> f, double a, double b, int n) {
+        double[] roots = new double[3];
+        return Arrays.copyOf(roots, PolynomialRoots.cubic(a, b, c, d, roots, 0));
+    }
+
+    // Batch form of solveCubic; missing roots are written as NaN and rootCounts may be null.
+    public static void solveCubic(double[] a, double[] b, double[] c, double[] d,
+                                  double[] root1, double[] root2, double[] root3, int[] rootCounts) {
+        PolynomialRoots.cubics(a, b, c, d, root1, root2, root3, rootCounts);
+    }
+
+    public static double integrate(DoubleUnaryOperator f, double a, double b, int n) {
         double h = (b - a) / n;
-        double sum = 0.5 * (f.apply(a) + f.apply(b));
+        double sum = 0.5 * (f.applyAsDouble(a) + f.applyAsDouble(b));
         for (int i = 1; i < n; i++) {
-            sum += f.apply(a + i * h);
+            sum += f.applyAsDouble(a + i * h);
         }
         return sum * h;
     }
 
-    public static double derivative(java.util.function.Function<Double, Double> f, double x, double h) {
-        return (f.apply(x + h) - f.apply(x - h)) / (2 * h);
+    private static final double[] KRONROD_NODES = {
+            0.991455371120812639206854697526329, 0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926, 0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013, 0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245, 0.000000000000000000000000000000000
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+            0.022935322010529224963732008058970, 0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518, 0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550, 0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649, 0.209482141084727828012999174891714
+    };
+    // Gauss weights for the odd-indexed Kronrod nodes (the 7-point Gauss rule).
+    private static final double[] GAUSS_WEIGHTS = {
+            0.129484966168869693270611432679082, 0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975, 0.417959183673469387755102040816327
+    };
+    private static final int MAX_ADAPTIVE_SEGMENTS = 10_000;
+
+    // Adaptive Gauss-Kronrod (G7/K15) quadrature to the given absolute tolerance. The segment
+    // with the largest error estimate is bisected until the summed estimate meets the tolerance.
+    // Segments too narrow to split at double precision are kept as they are, and after
+    // MAX_ADAPTIVE_SEGMENTS segments the best estimate so far is returned.
+    public static double integrateAdaptive(DoubleUnaryOperator f, double a, double b, double tolerance) {
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("Tolerance must be positive");
+        }
+        if (a == b) {
+            return 0;
+        }
+        PriorityQueue<QuadratureSegment> segments = new PriorityQueue<>(
+                Comparator.comparingDouble((QuadratureSegment segment) -> segment.error).reversed());
+        QuadratureSegment whole = QuadratureSegment.of(f, a, b);
+        segments.add(whole);
+        double error = whole.error;
+        double frozenIntegral = 0;
+        double frozenError = 0;
+        int count = 1;
+        while (frozenError + error > tolerance && !segments.isEmpty() && count < MAX_ADAPTIVE_SEGMENTS) {
+            QuadratureSegment worst = segments.poll();
+            error -= worst.error;
+            double center = 0.5 * (worst.a + worst.b);
+            if (center == worst.a || center == worst.b) {
+                frozenIntegral += worst.integral;
+                frozenError += worst.error;
+                continue;
+            }
+            QuadratureSegment left = QuadratureSegment.of(f, worst.a, center);
+            QuadratureSegment right = QuadratureSegment.of(f, center, worst.b);
+            segments.add(left);
+            segments.add(right);
+            error += left.error + right.error;
+            count++;
+        }
+        double result = frozenIntegral;
+        for (QuadratureSegment segment : segments) {
+            result += segment.integral;
+        }
+        return result;
     }
 
-    public static double newtonRaphson(java.util.function.Function<Double, Double> f,
-                                       java.util.function.Function<Double, Double> fPrime,
+    private static final class QuadratureSegment {
+        final double a;
+        final double b;
+        final double integral;
+        final double error;
+
+        private QuadratureSegment(double a, double b, double integral, double error) {
+            this.a = a;
+            this.b = b;
+            this.integral = integral;
+            this.error = error;
+        }
+
+        static QuadratureSegment of(DoubleUnaryOperator f, double a, double b) {
+            double center = 0.5 * (a + b);
+            double halfLength = 0.5 * (b - a);
+            double fCenter = f.applyAsDouble(center);
+            double kronrod = fCenter * KRONROD_WEIGHTS[7];
+            double gauss = fCenter * GAUSS_WEIGHTS[3];
+            for (int i = 0; i < 7; i++) {
+                double dx = halfLength * KRONROD_NODES[i];
+                double sum = f.applyAsDouble(center - dx) + f.applyAsDouble(center + dx);
+                kronrod += KRONROD_WEIGHTS[i] * sum;
+                if (i % 2 == 1) {
+                    gauss += GAUSS_WEIGHTS[i / 2] * sum;
+                }
+            }
+            kronrod *= halfLength;
+            gauss *= halfLength;
+            return new QuadratureSegment(a, b, kronrod, Math.abs(kronrod - gauss));
+        }
+    }
+
+    public static double derivative(DoubleUnaryOperator f, double x, double h) {
+        return (f.applyAsDouble(x + h) - f.applyAsDouble(x - h)) / (2 * h);
+    }
+
+    public static double newtonRaphson(DoubleUnaryOperator f, DoubleUnaryOperator fPrime,
                                        double x0, double tolerance, int maxIterations) {
         double x = x0;
         for (int i = 0; i < maxIterations; i++) {
-            double fx = f.apply(x);
+            double fx = f.applyAsDouble(x);
             if (Math.abs(fx) < tolerance) {
                 return x;
             }
-            x = x - fx / fPrime.apply(x);
+            x = x - fx / fPrime.applyAsDouble(x);
         }
         throw new ArithmeticException("Newton-Raphson did not converge");
     }
 
-    public static double bisection(java.util.function.Function<Double, Double> f,
-                                   double a, double b, double tolerance) {
-        if (f.apply(a) * f.apply(b) >= 0) {
+    public static double bisection(DoubleUnaryOperator f, double a, double b, double tolerance) {
+        double fa = f.applyAsDouble(a);
+        if (fa * f.applyAsDouble(b) >= 0) {
             throw new IllegalArgumentException("Function must have opposite signs at endpoints");
         }
 
         double c = a;
         while ((b - a) >= tolerance) {
             c = (a + b) / 2;
-            if (f.apply(c) == 0.0) {
+            double fc = f.applyAsDouble(c);
+            if (fc == 0.0) {
                 break;
-            } else if (f.apply(c) * f.apply(a) < 0) {
+            } else if (fc * fa < 0) {
                 b = c;
             } else {
                 a = c;
+                fa = fc;
             }
         }
         return c;
     }
 
+    // Brent-Dekker root finding: bisection safety with inverse quadratic / secant speed.
+    public static double brent(DoubleUnaryOperator f, double a, double b, double tolerance, int maxIterations) {
+        double fa = f.applyAsDouble(a);
+        double fb = f.applyAsDouble(b);
+        if (fa == 0) {
+            return a;
+        }
+        if (fb == 0) {
+            return b;
+        }
+        if (fa * fb > 0) {
+            throw new IllegalArgumentException("Function must have opposite signs at endpoints");
+        }
+
+        double c = a;
+        double fc = fa;
+        double d = b - a;
+        double e = d;
+        for (int i = 0; i < maxIterations; i++) {
+            if (Math.abs(fc) < Math.abs(fb)) {
+                a = b;
+                b = c;
+                c = a;
+                fa = fb;
+                fb = fc;
+                fc = fa;
+            }
+            double tol = 2 * Math.ulp(b) + 0.5 * tolerance;
+            double m = 0.5 * (c - b);
+            if (Math.abs(m) <= tol || fb == 0) {
+                return b;
+            }
+
+            if (Math.abs(e) >= tol && Math.abs(fa) > Math.abs(fb)) {
+                double p;
+                double q;
+                double s = fb / fa;
+                if (a == c) {
+                    p = 2 * m * s;
+                    q = 1 - s;
+                } else {
+                    double r = fb / fc;
+                    double t = fa / fc;
+                    p = s * (2 * m * t * (t - r) - (b - a) * (r - 1));
+                    q = (t - 1) * (r - 1) * (s - 1);
+                }
+                if (p > 0) {
+                    q = -q;
+                } else {
+                    p = -p;
+                }
+                if (2 * p < Math.min(3 * m * q - Math.abs(tol * q), Math.abs(e * q))) {
+                    e = d;
+                    d = p / q;
+                } else {
+                    d = m;
+                    e = m;
+                }
+            } else {
+                d = m;
+                e = m;
+            }
+
+            a = b;
+            fa = fb;
+            b += Math.abs(d) > tol ? d : (m > 0 ? tol : -tol);
+            fb = f.applyAsDouble(b);
+            if ((fb > 0) == (fc > 0)) {
+                c = a;
+                fc = fa;
+                d = b - a;
+                e = d;
+            }
+        }
+        throw new ArithmeticException("Brent's method did not converge");
+    }
+
     public static List<Integer> primeFactorization(int n) {
         List<Integer> factors = new ArrayList<>();
         while (n % 2 == 0) {
@@ -369,39 +716,110 @@ public class AdvancedMathUtils {
         return factors;
     }
 
-    public static List<Integer> sieveOfEratosthenes(int n) {
-        boolean[] isPrime = new boolean[n + 1];
-        Arrays.fill(isPrime, true);
-        isPrime[0] = isPrime[1] = false;
-
-        for (int i = 2; i * i <= n; i++) {
-            if (isPrime[i]) {
-                for (int j = i * i; j <= n; j += i) {
-                    isPrime[j] = false;
-                }
+    private static final int[] TRIAL_PRIMES = PrimeSieve.primes(1000);
+
+    // Prime factors of n in ascending order with multiplicity, using Pollard-rho (Brent).
+    public static long[] factorize(long n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive");
+        }
+        long[] factors = new long[64];
+        int count = 0;
+        for (int p : TRIAL_PRIMES) {
+            if ((long) p * p > n) {
+                break;
+            }
+            while (n % p == 0) {
+                factors[count++] = p;
+                n /= p;
             }
         }
+        if (n > 1) {
+            count = collectFactors(n, factors, count);
+        }
+        long[] result = Arrays.copyOf(factors, count);
+        Arrays.sort(result);
+        return result;
+    }
 
-        List<Integer> primes = new ArrayList<>();
-        for (int i = 2; i <= n; i++) {
-            if (isPrime[i]) {
-                primes.add(i);
+    private static int collectFactors(long n, long[] factors, int count) {
+        if (n == 1) {
+            return count;
+        }
+        if (BasicMathUtils.isPrime(n)) {
+            factors[count++] = n;
+            return count;
+        }
+        long divisor = pollardRhoBrent(n);
+        count = collectFactors(divisor, factors, count);
+        return collectFactors(n / divisor, factors, count);
+    }
+
+    // n is odd, composite and has no factor below 1000.
+    private static long pollardRhoBrent(long n) {
+        ModularArithmetic.Montgomery mont = new ModularArithmetic.Montgomery(n);
+        final int batch = 128;
+        for (long c = 1; ; c++) {
+            long increment = mont.toMontgomery(c);
+            long y = mont.toMontgomery(2);
+            long x = y;
+            long ys = y;
+            long q = mont.one;
+            long g = 1;
+            for (long r = 1; g == 1; r <<= 1) {
+                x = y;
+                for (long i = 0; i < r; i++) {
+                    y = mont.add(mont.multiply(y, y), increment);
+                }
+                for (long k = 0; k < r && g == 1; k += batch) {
+                    ys = y;
+                    long steps = Math.min(batch, r - k);
+                    for (long i = 0; i < steps; i++) {
+                        y = mont.add(mont.multiply(y, y), increment);
+                        q = mont.multiply(q, Math.abs(x - y));
+                    }
+                    g = BasicMathUtils.gcd(q, n);
+                }
+            }
+            if (g == n) {
+                do {
+                    ys = mont.add(mont.multiply(ys, ys), increment);
+                    g = BasicMathUtils.gcd(Math.abs(x - ys), n);
+                } while (g == 1);
+            }
+            if (g != n) {
+                return g;
             }
         }
+    }
+
+    public static List<Integer> sieveOfEratosthenes(int n) {
+        int[] sieved = PrimeSieve.primes(n);
+        List<Integer> primes = new ArrayList<>(sieved.length);
+        for (int prime : sieved) {
+            primes.add(prime);
+        }
         return primes;
     }
 
+    // Overflow-free for any positive modulus; a negative exponent uses the modular inverse of base.
     public static long modularExponentiation(long base, long exponent, long modulus) {
-        long result = 1;
-        base = base % modulus;
-        while (exponent > 0) {
-            if (exponent % 2 == 1) {
-                result = (result * base) % modulus;
-            }
-            exponent = exponent >> 1;
-            base = (base * base) % modulus;
+        if (modulus <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive");
         }
-        return result;
+        if (exponent < 0) {
+            base = modularInverse(base, modulus);
+            exponent = Math.negateExact(exponent);
+        }
+        return ModularArithmetic.powMod(base, exponent, modulus);
+    }
+
+    // Delegates to BigInteger.modPow, which uses sliding-window Montgomery exponentiation.
+    public static BigInteger modularExponentiation(BigInteger base, BigInteger exponent, BigInteger modulus) {
+        if (modulus.signum() <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive");
+        }
+        return base.modPow(exponent, modulus);
     }
 
     public static long extendedGCD(long a, long b, long[] xy) {
@@ -418,112 +836,281 @@ public class AdvancedMathUtils {
     }
 
     public static long modularInverse(long a, long m) {
-        long[] xy = new long[2];
-        long gcd = extendedGCD(a, m, xy);
-        if (gcd != 1) {
+        if (m <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive");
+        }
+        // Iterative extended Euclid; every intermediate stays within [-m, m].
+        long r0 = m, r1 = Math.floorMod(a, m);
+        long t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1;
+            long r = r0 - q * r1;
+            r0 = r1;
+            r1 = r;
+            long t = t0 - q * t1;
+            t0 = t1;
+            t1 = t;
+        }
+        if (r0 != 1) {
             throw new ArithmeticException("Modular inverse does not exist");
         }
-        return (xy[0] % m + m) % m;
+        return t0 < 0 ? t0 + m : t0;
     }
 
-    public static long chineseRemainderTheorem(long[] remainders, long[] moduli) {
-        long product = 1;
-        for (long mod : moduli) {
-            product *= mod;
+    public static BigInteger modularInverse(BigInteger a, BigInteger m) {
+        if (m.signum() <= 0) {
+            throw new IllegalArgumentException("Modulus must be positive");
         }
+        return a.modInverse(m);
+    }
 
+    // Smallest non-negative x with x = remainders[i] (mod moduli[i]). Moduli need not be coprime.
+    // Congruences are merged one at a time (Garner), so no intermediate exceeds their lcm.
+    // Throws ArithmeticException if there is no solution or the lcm overflows a long.
+    public static long chineseRemainderTheorem(long[] remainders, long[] moduli) {
+        if (remainders.length != moduli.length) {
+            throw new IllegalArgumentException("Arrays must have same length");
+        }
         long result = 0;
-        for (int i = 0; i < remainders.length; i++) {
-            long pp = product / moduli[i];
-            result += remainders[i] * modularInverse(pp, moduli[i]) * pp;
+        long modulus = 1;
+        for (int i = 0; i < moduli.length; i++) {
+            long m = moduli[i];
+            if (m <= 0) {
+                throw new IllegalArgumentException("Moduli must be positive");
+            }
+            long g = BasicMathUtils.gcd(modulus, m);
+            // Reduce both sides first; remainders[i] - result itself can overflow.
+            long difference = Math.floorMod(Math.floorMod(remainders[i], m) - Math.floorMod(result, m), m);
+            if (difference % g != 0) {
+                throw new ArithmeticException("Congruences have no common solution");
+            }
+            long reduced = m / g;
+            long step = Math.floorMod(modulus / g, reduced);
+            long t = ModularArithmetic.mulMod(difference / g % reduced, modularInverse(step, reduced), reduced);
+            long next = Math.multiplyExact(modulus, reduced);
+            result += modulus * t;
+            modulus = next;
         }
-        return result % product;
+        return result;
     }
 
-    public static long binomialCoefficient(int n, int k) {
-        if (k > n - k) {
-            k = n - k;
+    public static BigInteger chineseRemainderTheorem(BigInteger[] remainders, BigInteger[] moduli) {
+        if (remainders.length != moduli.length) {
+            throw new IllegalArgumentException("Arrays must have same length");
         }
-        long result = 1;
-        for (int i = 0; i < k; i++) {
-            result *= (n - i);
-            result /= (i + 1);
+        BigInteger result = BigInteger.ZERO;
+        BigInteger modulus = BigInteger.ONE;
+        for (int i = 0; i < moduli.length; i++) {
+            BigInteger m = moduli[i];
+            if (m.signum() <= 0) {
+                throw new IllegalArgumentException("Moduli must be positive");
+            }
+            BigInteger g = modulus.gcd(m);
+            BigInteger[] quotient = remainders[i].subtract(result).divideAndRemainder(g);
+            if (quotient[1].signum() != 0) {
+                throw new ArithmeticException("Congruences have no common solution");
+            }
+            BigInteger reduced = m.divide(g);
+            BigInteger t = quotient[0].multiply(modulus.divide(g).modInverse(reduced)).mod(reduced);
+            result = result.add(modulus.multiply(t));
+            modulus = modulus.multiply(reduced);
         }
         return result;
     }
 
+    // Throws ArithmeticException if the result does not fit in a long.
+    public static long binomialCoefficient(int n, int k) {
+        return Combinatorics.binomial(n, k);
+    }
+
     public static long catalan(int n) {
-        return binomialCoefficient(2 * n, n) / (n + 1);
+        return Combinatorics.catalan(n);
     }
 
-    public static double[][] polynomialRegression(double[] x, double[] y, int degree) {
+    // Least-squares fit solved with Householder QR on the Vandermonde matrix.
+    // Returns coefficients c[0..degree] of c[0] + c[1] x + ... + c[degree] x^degree.
+    public static double[] polynomialRegression(double[] x, double[] y, int degree) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Arrays must have same length");
+        }
+        if (degree < 0) {
+            throw new IllegalArgumentException("Degree must be non-negative");
+        }
         int n = x.length;
-        Matrix X = new Matrix(n, degree + 1);
+        int p = degree + 1;
+        if (n < p) {
+            throw new IllegalArgumentException("At least degree + 1 points are required");
+        }
+
+        double[][] columns = new double[p][n];
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j <= degree; j++) {
-                X.getData()[i][j] = Math.pow(x[i], j);
+            double power = 1;
+            for (int j = 0; j < p; j++) {
+                columns[j][i] = power;
+                power *= x[i];
             }
         }
+        double[] rhs = y.clone();
+        double[] rDiagonal = new double[p];
+
+        for (int k = 0; k < p; k++) {
+            double[] column = columns[k];
+            double norm = 0;
+            for (int i = k; i < n; i++) {
+                norm += column[i] * column[i];
+            }
+            norm = Math.sqrt(norm);
+            if (norm == 0) {
+                throw new ArithmeticException("Vandermonde matrix is rank deficient");
+            }
+            if (column[k] < 0) {
+                norm = -norm;
+            }
+            for (int i = k; i < n; i++) {
+                column[i] /= norm;
+            }
+            column[k] += 1;
 
-        Matrix Y = new Matrix(n, 1);
-        for (int i = 0; i < n; i++) {
-            Y.getData()[i][0] = y[i];
+            for (int j = k + 1; j < p; j++) {
+                applyHouseholder(column, columns[j], k, n);
+            }
+            applyHouseholder(column, rhs, k, n);
+            rDiagonal[k] = -norm;
         }
 
-        return X.getData();
+        double[] coefficients = new double[p];
+        for (int k = p - 1; k >= 0; k--) {
+            double sum = rhs[k];
+            for (int j = k + 1; j < p; j++) {
+                sum -= columns[j][k] * coefficients[j];
+            }
+            coefficients[k] = sum / rDiagonal[k];
+        }
+        return coefficients;
     }
 
-    public static double pearsonCorrelation(double[] x, double[] y) {
-        if (x.length != y.length) {
-            throw new IllegalArgumentException("Arrays must have same length");
+    private static void applyHouseholder(double[] v, double[] target, int k, int n) {
+        double s = 0;
+        for (int i = k; i < n; i++) {
+            s += v[i] * target[i];
         }
+        s = -s / v[k];
+        for (int i = k; i < n; i++) {
+            target[i] += s * v[i];
+        }
+    }
 
-        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0, sumY2 = 0;
-        int n = x.length;
+    /**
+     * One-pass polynomial least squares for data that does not fit in memory. Only the power
+     * sums behind X^T X and X^T y are kept, so memory is O(degree) regardless of the number of
+     * points. The normal equations square the condition number, so prefer
+     * {@link #polynomialRegression} when the data fits in memory, and keep x roughly centred
+     * and scaled for higher degrees.
+     */
+    public static class StreamingPolynomialRegression {
+        private final int degree;
+        private final double[] xPowerSums;
+        private final double[] xyPowerSums;
+        private long count;
+
+        public StreamingPolynomialRegression(int degree) {
+            if (degree < 0) {
+                throw new IllegalArgumentException("Degree must be non-negative");
+            }
+            this.degree = degree;
+            this.xPowerSums = new double[2 * degree + 1];
+            this.xyPowerSums = new double[degree + 1];
+        }
 
-        for (int i = 0; i < n; i++) {
-            sumX += x[i];
-            sumY += y[i];
-            sumXY += x[i] * y[i];
-            sumX2 += x[i] * x[i];
-            sumY2 += y[i] * y[i];
+        public void add(double x, double y) {
+            double power = 1;
+            for (int j = 0; j <= degree; j++) {
+                xPowerSums[j] += power;
+                xyPowerSums[j] += power * y;
+                power *= x;
+            }
+            for (int j = degree + 1; j < xPowerSums.length; j++) {
+                xPowerSums[j] += power;
+                power *= x;
+            }
+            count++;
         }
 
-        double numerator = n * sumXY - sumX * sumY;
-        double denominator = Math.sqrt((n * sumX2 - sumX * sumX) * (n * sumY2 - sumY * sumY));
+        public void addAll(double[] x, double[] y) {
+            if (x.length != y.length) {
+                throw new IllegalArgumentException("Arrays must have same length");
+            }
+            for (int i = 0; i < x.length; i++) {
+                add(x[i], y[i]);
+            }
+        }
 
-        return numerator / denominator;
-    }
+        public void merge(StreamingPolynomialRegression other) {
+            if (other.degree != degree) {
+                throw new IllegalArgumentException("Degrees must match");
+            }
+            for (int j = 0; j < xPowerSums.length; j++) {
+                xPowerSums[j] += other.xPowerSums[j];
+            }
+            for (int j = 0; j < xyPowerSums.length; j++) {
+                xyPowerSums[j] += other.xyPowerSums[j];
+            }
+            count += other.count;
+        }
 
-    public static double[] linearRegression(double[] x, double[] y) {
-        int n = x.length;
-        double sumX = 0, sumY = 0, sumXY = 0, sumX2 = 0;
+        public long getCount() {
+            return count;
+        }
 
-        for (int i = 0; i < n; i++) {
-            sumX += x[i];
-            sumY += y[i];
-            sumXY += x[i] * y[i];
-            sumX2 += x[i] * x[i];
+        public double[] coefficients() {
+            int p = degree + 1;
+            if (count < p) {
+                throw new IllegalStateException("At least degree + 1 points are required");
+            }
+            Matrix normal = new Matrix(p, p);
+            for (int i = 0; i < p; i++) {
+                for (int j = 0; j < p; j++) {
+                    normal.data[i][j] = xPowerSums[i + j];
+                }
+            }
+            return normal.solve(xyPowerSums);
         }
+    }
+
+    // Two-pass: deviations are taken from the means, so large offsets do not cancel.
+    public static double pearsonCorrelation(double[] x, double[] y) {
+        return ParallelReductions.moments(x, y, null).correlation();
+    }
+
+    // Fork-join variants below split work in a fixed tree, so results do not depend on the
+    // number of threads, and merge two-pass partial moments with Chan's formulas.
+    public static double parallelPearsonCorrelation(double[] x, double[] y) {
+        return parallelPearsonCorrelation(x, y, ForkJoinPool.commonPool());
+    }
+
+    public static double parallelPearsonCorrelation(double[] x, double[] y, ForkJoinPool pool) {
+        return ParallelReductions.moments(x, y, ParallelReductions.poolFor(x.length, pool)).correlation();
+    }
+
+    public static double[] linearRegression(double[] x, double[] y) {
+        BivariateMoments moments = ParallelReductions.moments(x, y, null);
+        return new double[]{moments.slope(), moments.intercept()};
+    }
 
-        double slope = (n * sumXY - sumX * sumY) / (n * sumX2 - sumX * sumX);
-        double intercept = (sumY - slope * sumX) / n;
+    public static double[] parallelLinearRegression(double[] x, double[] y) {
+        return parallelLinearRegression(x, y, ForkJoinPool.commonPool());
+    }
 
-        return new double[]{slope, intercept};
+    public static double[] parallelLinearRegression(double[] x, double[] y, ForkJoinPool pool) {
+        BivariateMoments moments = ParallelReductions.moments(x, y, ParallelReductions.poolFor(x.length, pool));
+        return new double[]{moments.slope(), moments.intercept()};
     }
 
     public static double[] fourierTransform(double[] signal) {
         int n = signal.length;
-        double[] real = new double[n];
+        double[] real = signal.clone();
         double[] imag = new double[n];
-
-        for (int k = 0; k < n; k++) {
-            for (int t = 0; t < n; t++) {
-                double angle = 2 * Math.PI * t * k / n;
-                real[k] += signal[t] * Math.cos(angle);
-                imag[k] -= signal[t] * Math.sin(angle);
-            }
-        }
+        FFT.forward(real, imag);
 
         double[] magnitude = new double[n];
         for (int i = 0; i < n; i++) {
@@ -532,14 +1119,52 @@ public class AdvancedMathUtils {
         return magnitude;
     }
 
-    public static BigInteger bigFactorial(int n) {
-        BigInteger result = BigInteger.ONE;
-        for (int i = 2; i <= n; i++) {
-            result = result.multiply(BigInteger.valueOf(i));
+    public static Complex[] fourierTransformComplex(double[] signal) {
+        double[] real = signal.clone();
+        double[] imag = new double[signal.length];
+        FFT.forward(real, imag);
+        return toComplexArray(real, imag);
+    }
+
+    // Spectrum as parallel real/imaginary arrays, for processing without Complex objects.
+    public static ComplexArray fourierTransformArray(double[] signal) {
+        return ComplexArray.fromReal(signal).fft();
+    }
+
+    public static Complex[] inverseFourierTransform(Complex[] spectrum) {
+        int n = spectrum.length;
+        double[] real = new double[n];
+        double[] imag = new double[n];
+        for (int i = 0; i < n; i++) {
+            real[i] = spectrum[i].real;
+            imag[i] = spectrum[i].imaginary;
+        }
+        FFT.inverse(real, imag);
+        return toComplexArray(real, imag);
+    }
+
+    // In-place forward transform of the complex signal real[k] + i * imag[k].
+    public static void fft(double[] real, double[] imag) {
+        FFT.forward(real, imag);
+    }
+
+    // In-place inverse transform, scaled by 1/n so that inverseFft(fft(x)) == x.
+    public static void inverseFft(double[] real, double[] imag) {
+        FFT.inverse(real, imag);
+    }
+
+    private static Complex[] toComplexArray(double[] real, double[] imag) {
+        Complex[] result = new Complex[real.length];
+        for (int i = 0; i < real.length; i++) {
+            result[i] = new Complex(real[i], imag[i]);
         }
         return result;
     }
 
+    public static BigInteger bigFactorial(int n) {
+        return Combinatorics.bigFactorial(n);
+    }
+
     public static BigInteger bigPower(long base, int exponent) {
         return BigInteger.valueOf(base).pow(exponent);
     }
@@ -554,28 +1179,27 @@ public class AdvancedMathUtils {
         return entropy;
     }
 
+    public static double parallelEntropy(double[] probabilities) {
+        return parallelEntropy(probabilities, ForkJoinPool.commonPool());
+    }
+
+    public static double parallelEntropy(double[] probabilities, ForkJoinPool pool) {
+        return ParallelReductions.entropy(probabilities, ParallelReductions.poolFor(probabilities.length, pool));
+    }
+
+    public enum ConvolutionMode {
+        VALID,
+        SAME,
+        FULL
+    }
+
     public static double[][] convolution(double[][] matrix, double[][] kernel) {
-        int mRows = matrix.length;
-        int mCols = matrix[0].length;
-        int kRows = kernel.length;
-        int kCols = kernel[0].length;
-
-        int outRows = mRows - kRows + 1;
-        int outCols = mCols - kCols + 1;
-        double[][] result = new double[outRows][outCols];
-
-        for (int i = 0; i < outRows; i++) {
-            for (int j = 0; j < outCols; j++) {
-                double sum = 0;
-                for (int ki = 0; ki < kRows; ki++) {
-                    for (int kj = 0; kj < kCols; kj++) {
-                        sum += matrix[i + ki][j + kj] * kernel[ki][kj];
-                    }
-                }
-                result[i][j] = sum;
-            }
-        }
-        return result;
+        return convolution(matrix, kernel, ConvolutionMode.VALID);
+    }
+
+    // Sliding-window sum of matrix * kernel (no kernel flip) with zero padding for SAME and FULL.
+    public static double[][] convolution(double[][] matrix, double[][] kernel, ConvolutionMode mode) {
+        return Convolution2D.convolve(matrix, kernel, mode);
     }
 
     public static void main(String[] args) {
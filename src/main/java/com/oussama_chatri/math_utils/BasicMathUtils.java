@@ -1,9 +1,12 @@
 package com.oussama_chatri.math_utils;
 
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
 
 public class BasicMathUtils {
 
@@ -68,14 +71,9 @@ public class BasicMathUtils {
         return Math.pow(value, 1.0 / n);
     }
 
+    // Throws ArithmeticException for n > 20, where n! no longer fits in a long.
     public static long factorial(int n) {
-        if (n < 0) throw new IllegalArgumentException("Factorial not defined for negative numbers");
-        if (n == 0 || n == 1) return 1;
-        long result = 1;
-        for (int i = 2; i <= n; i++) {
-            result *= i;
-        }
-        return result;
+        return Combinatorics.factorial(n);
     }
 
     public static long gcd(long a, long b) {
@@ -103,6 +101,67 @@ public class BasicMathUtils {
         return true;
     }
 
+    private static final long[] SMALL_PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37};
+    // Deterministic for n < 3,215,031,751; products stay below 2^63 for n < 3,037,000,499.
+    private static final long[] SMALL_WITNESSES = {2, 3, 5, 7};
+    // Deterministic for every n < 2^64 (Jim Sinclair's base set).
+    private static final long[] WITNESSES = {2, 325, 9375, 28178, 450775, 9780504, 1795265022};
+
+    // Deterministic Miller-Rabin.
+    public static boolean isPrime(long n) {
+        if (n < 2) return false;
+        for (long p : SMALL_PRIMES) {
+            if (n % p == 0) return n == p;
+        }
+        if (n < 37 * 37) return true;
+
+        long d = n - 1;
+        int s = Long.numberOfTrailingZeros(d);
+        d >>= s;
+
+        if (n < 3037000499L) {
+            for (long a : SMALL_WITNESSES) {
+                if (!millerRabinRound(a, d, s, n)) return false;
+            }
+            return true;
+        }
+
+        ModularArithmetic.Montgomery mont = new ModularArithmetic.Montgomery(n);
+        long one = mont.one;
+        long minusOne = n - one;
+        for (long a : WITNESSES) {
+            long x = a % n;
+            if (x == 0) continue;
+            x = mont.pow(mont.toMontgomery(x), d);
+            if (x == one || x == minusOne) continue;
+            boolean composite = true;
+            for (int r = 1; r < s; r++) {
+                x = mont.multiply(x, x);
+                if (x == minusOne) {
+                    composite = false;
+                    break;
+                }
+            }
+            if (composite) return false;
+        }
+        return true;
+    }
+
+    private static boolean millerRabinRound(long a, long d, int s, long n) {
+        long x = 1;
+        long base = a % n;
+        for (long e = d; e > 0; e >>= 1) {
+            if ((e & 1) == 1) x = x * base % n;
+            base = base * base % n;
+        }
+        if (x == 1 || x == n - 1) return true;
+        for (int r = 1; r < s; r++) {
+            x = x * x % n;
+            if (x == n - 1) return true;
+        }
+        return false;
+    }
+
     public static boolean isEven(int n) {
         return n % 2 == 0;
     }
@@ -143,30 +202,95 @@ public class BasicMathUtils {
         return Arrays.stream(values).sum();
     }
 
+    // Fork-join sum on the common pool; the result does not depend on the number of threads.
+    public static double parallelSum(double... values) {
+        return parallelSum(values, ForkJoinPool.commonPool());
+    }
+
+    public static double parallelSum(double[] values, ForkJoinPool pool) {
+        return ParallelReductions.sum(values, ParallelReductions.poolFor(values.length, pool));
+    }
+
     public static double median(double... values) {
-        double[] sorted = Arrays.copyOf(values, values.length);
-        Arrays.sort(sorted);
-        int middle = sorted.length / 2;
-        if (sorted.length % 2 == 0) {
-            return (sorted[middle - 1] + sorted[middle]) / 2.0;
-        } else {
-            return sorted[middle];
+        return medianInPlace(Arrays.copyOf(values, values.length));
+    }
+
+    // O(n) quickselect median; reorders the elements of values instead of copying them.
+    public static double medianInPlace(double... values) {
+        int n = values.length;
+        if (n == 0) throw new NoSuchElementException("No value present");
+        int middle = n / 2;
+        double upper = select(values, middle);
+        if (n % 2 != 0) {
+            return upper;
+        }
+        double lower = values[0];
+        for (int i = 1; i < middle; i++) {
+            if (values[i] > lower) lower = values[i];
         }
+        return (lower + upper) / 2.0;
+    }
+
+    // Moves the k-th smallest element to index k with smaller elements before it.
+    private static double select(double[] values, int k) {
+        int left = 0;
+        int right = values.length - 1;
+        while (right - left > 16) {
+            int mid = (left + right) >>> 1;
+            if (values[mid] < values[left]) swap(values, mid, left);
+            if (values[right] < values[left]) swap(values, right, left);
+            if (values[right] < values[mid]) swap(values, right, mid);
+            double pivot = values[mid];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) i++;
+                while (values[j] > pivot) j--;
+                if (i <= j) {
+                    swap(values, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return values[k];
+            }
+        }
+        for (int i = left + 1; i <= right; i++) {
+            double value = values[i];
+            int j = i - 1;
+            while (j >= left && values[j] > value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+        return values[k];
+    }
+
+    private static void swap(double[] values, int i, int j) {
+        double temp = values[i];
+        values[i] = values[j];
+        values[j] = temp;
     }
 
     public static double variance(double... values) {
-        double mean = average(values);
-        double sumSquaredDiff = 0;
-        for (double value : values) {
-            sumSquaredDiff += Math.pow(value - mean, 2);
-        }
-        return sumSquaredDiff / values.length;
+        if (values.length == 0) throw new NoSuchElementException("No value present");
+        return DescriptiveStats.of(values).getVariance();
     }
 
     public static double standardDeviation(double... values) {
         return Math.sqrt(variance(values));
     }
 
+    public static DescriptiveStats describe(double... values) {
+        return DescriptiveStats.of(values);
+    }
+
     public static double clamp(double value, double min, double max) {
         return Math.max(min, Math.min(max, value));
     }
@@ -263,15 +387,73 @@ public class BasicMathUtils {
         return Math.hypot(a, b);
     }
 
+    private static final long[] FIBONACCI = new long[93];
+
+    static {
+        FIBONACCI[1] = 1;
+        for (int i = 2; i < FIBONACCI.length; i++) {
+            FIBONACCI[i] = FIBONACCI[i - 1] + FIBONACCI[i - 2];
+        }
+    }
+
+    // Throws ArithmeticException for n > 46, where F(n) no longer fits in an int.
     public static int fibonacci(int n) {
-        if (n <= 1) return n;
-        int a = 0, b = 1;
-        for (int i = 2; i <= n; i++) {
-            int temp = a + b;
-            a = b;
-            b = temp;
+        return Math.toIntExact(fibonacciExact(n));
+    }
+
+    // Table lookup; throws ArithmeticException for n > 92, where F(n) no longer fits in a long.
+    public static long fibonacciExact(int n) {
+        if (n < 0) throw new IllegalArgumentException("Fibonacci not defined for negative numbers");
+        if (n >= FIBONACCI.length) {
+            throw new ArithmeticException("Fibonacci number " + n + " overflows long");
+        }
+        return FIBONACCI[n];
+    }
+
+    // Fast doubling: F(2k) = F(k) (2F(k+1) - F(k)), F(2k+1) = F(k)^2 + F(k+1)^2.
+    public static BigInteger bigFibonacci(int n) {
+        if (n < 0) throw new IllegalArgumentException("Fibonacci not defined for negative numbers");
+        if (n < FIBONACCI.length) {
+            return BigInteger.valueOf(FIBONACCI[n]);
+        }
+        BigInteger a = BigInteger.ZERO;
+        BigInteger b = BigInteger.ONE;
+        for (int bit = 31 - Integer.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            BigInteger c = a.multiply(b.shiftLeft(1).subtract(a));
+            BigInteger d = a.multiply(a).add(b.multiply(b));
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c.add(d);
+            }
         }
-        return b;
+        return a;
+    }
+
+    // F(n) mod m by fast doubling in O(log n) overflow-free multiplications.
+    public static long fibonacci(long n, long mod) {
+        if (n < 0) throw new IllegalArgumentException("Fibonacci not defined for negative numbers");
+        if (mod <= 0) throw new IllegalArgumentException("Modulus must be positive");
+        if (mod == 1) return 0;
+        long a = 0;
+        long b = 1;
+        for (int bit = 63 - Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+            long twoB = b >= mod - b ? b - (mod - b) : b + b;
+            long c = ModularArithmetic.mulMod(a, twoB >= a ? twoB - a : twoB + (mod - a), mod);
+            long d = ModularArithmetic.mulMod(a, a, mod);
+            long bb = ModularArithmetic.mulMod(b, b, mod);
+            d = d >= mod - bb ? d - (mod - bb) : d + bb;
+            if (((n >>> bit) & 1) == 0) {
+                a = c;
+                b = d;
+            } else {
+                a = d;
+                b = c >= mod - d ? c - (mod - d) : c + d;
+            }
+        }
+        return a;
     }
 
     public static boolean isPowerOfTwo(int n) {
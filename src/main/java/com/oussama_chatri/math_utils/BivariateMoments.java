@@ -0,0 +1,108 @@
+package com.oussama_chatri.math_utils;
+
+/**
+ * Count, means, sums of squared deviations and co-moment of paired samples. Values can be
+ * added one at a time (Welford's update), and two sets of moments merged with Chan's
+ * parallel formulas. Deviations are always taken from the running means, never from raw
+ * sums, so nothing cancels catastrophically when the data sit far from zero.
+ */
+final class BivariateMoments {
+
+    long count;
+    double meanX;
+    double meanY;
+    double m2X;
+    double m2Y;
+    double coMoment;
+
+    // Two-pass moments of x[from..to), y[from..to): means first, then deviations from them.
+    static BivariateMoments of(double[] x, double[] y, int from, int to) {
+        BivariateMoments moments = new BivariateMoments();
+        int n = to - from;
+        if (n == 0) {
+            return moments;
+        }
+        double sumX = 0, sumY = 0;
+        for (int i = from; i < to; i++) {
+            sumX += x[i];
+            sumY += y[i];
+        }
+        double meanX = sumX / n;
+        double meanY = sumY / n;
+        double m2X = 0, m2Y = 0, coMoment = 0;
+        for (int i = from; i < to; i++) {
+            double dx = x[i] - meanX;
+            double dy = y[i] - meanY;
+            m2X += dx * dx;
+            m2Y += dy * dy;
+            coMoment += dx * dy;
+        }
+        moments.count = n;
+        moments.meanX = meanX;
+        moments.meanY = meanY;
+        moments.m2X = m2X;
+        moments.m2Y = m2Y;
+        moments.coMoment = coMoment;
+        return moments;
+    }
+
+    void add(double x, double y) {
+        count++;
+        double dx = x - meanX;
+        meanX += dx / count;
+        double dy = y - meanY;
+        meanY += dy / count;
+        // dx uses the old mean of x and the second factors the new means, as in Welford.
+        m2X += dx * (x - meanX);
+        m2Y += dy * (y - meanY);
+        coMoment += dx * (y - meanY);
+    }
+
+    void merge(BivariateMoments other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            meanX = other.meanX;
+            meanY = other.meanY;
+            m2X = other.m2X;
+            m2Y = other.m2Y;
+            coMoment = other.coMoment;
+            return;
+        }
+        long total = count + other.count;
+        double dx = other.meanX - meanX;
+        double dy = other.meanY - meanY;
+        double weight = (double) count * other.count / total;
+        meanX += dx * other.count / total;
+        meanY += dy * other.count / total;
+        m2X += other.m2X + dx * dx * weight;
+        m2Y += other.m2Y + dy * dy * weight;
+        coMoment += other.coMoment + dx * dy * weight;
+        count = total;
+    }
+
+    BivariateMoments copy() {
+        BivariateMoments copy = new BivariateMoments();
+        copy.merge(this);
+        return copy;
+    }
+
+    double slope() {
+        return coMoment / m2X;
+    }
+
+    double intercept() {
+        return meanY - slope() * meanX;
+    }
+
+    double correlation() {
+        return coMoment / Math.sqrt(m2X * m2Y);
+    }
+
+    // Population covariance.
+    double covariance() {
+        return count == 0 ? Double.NaN : coMoment / count;
+    }
+}
@@ -0,0 +1,201 @@
+package com.oussama_chatri.math_utils;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Exact combinatorial functions. Results that fit in a {@code long} come from tables built
+ * once at class initialisation: factorials up to 20!, Pascal's triangle up to row 66 and
+ * Catalan numbers up to C(35). The tables are immutable, so lookups are thread-safe. Larger
+ * arguments use {@link Math#multiplyExact} and throw {@link ArithmeticException} instead of
+ * silently wrapping around.
+ * <p>
+ * {@link #bigFactorial} multiplies by binary splitting, so the operands of each BigInteger
+ * multiplication stay balanced. {@link ModularTable} answers nCr mod p in constant time from
+ * precomputed factorials and inverse factorials.
+ */
+public final class Combinatorics {
+
+    private static final int MAX_FACTORIAL = 20;
+    private static final int MAX_PASCAL_ROW = 66;
+    private static final int LEAF_SIZE = 16;
+
+    private static final long[] FACTORIALS = new long[MAX_FACTORIAL + 1];
+    private static final long[][] PASCAL = new long[MAX_PASCAL_ROW + 1][];
+    private static final long[] CATALANS;
+
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_FACTORIAL; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+
+        for (int n = 0; n <= MAX_PASCAL_ROW; n++) {
+            long[] row = new long[n / 2 + 1];
+            row[0] = 1;
+            for (int k = 1; k < row.length; k++) {
+                long[] previous = PASCAL[n - 1];
+                row[k] = previous[k - 1] + previous[Math.min(k, n - 1 - k)];
+            }
+            PASCAL[n] = row;
+        }
+
+        // C(n + 1) = C(n) * 2(2n + 1) / (n + 2); stop at the first value that no longer fits.
+        long[] catalans = new long[64];
+        BigInteger value = BigInteger.ONE;
+        int count = 0;
+        while (value.bitLength() < 64) {
+            catalans[count] = value.longValueExact();
+            value = value.multiply(BigInteger.valueOf(2L * (2 * count + 1))).divide(BigInteger.valueOf(count + 2));
+            count++;
+        }
+        CATALANS = Arrays.copyOf(catalans, count);
+    }
+
+    private Combinatorics() {
+    }
+
+    public static long factorial(int n) {
+        if (n < 0) throw new IllegalArgumentException("Factorial not defined for negative numbers");
+        if (n > MAX_FACTORIAL) {
+            throw new ArithmeticException("Factorial of " + n + " overflows long");
+        }
+        return FACTORIALS[n];
+    }
+
+    // Returns 0 when k < 0 or k > n.
+    public static long binomial(int n, int k) {
+        if (n < 0) throw new IllegalArgumentException("n must be non-negative");
+        if (k < 0 || k > n) {
+            return 0;
+        }
+        k = Math.min(k, n - k);
+        if (n <= MAX_PASCAL_ROW) {
+            return PASCAL[n][k];
+        }
+        // Each partial result is C(n - k + i, i) <= C(n, k), so overflow means the answer overflows.
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            long g = BasicMathUtils.gcd(result, i);
+            result = Math.multiplyExact(result / g, (n - k + i) / (i / g));
+        }
+        return result;
+    }
+
+    public static long catalan(int n) {
+        if (n < 0) throw new IllegalArgumentException("n must be non-negative");
+        if (n >= CATALANS.length) {
+            throw new ArithmeticException("Catalan number " + n + " overflows long");
+        }
+        return CATALANS[n];
+    }
+
+    public static BigInteger bigFactorial(int n) {
+        if (n < 0) throw new IllegalArgumentException("Factorial not defined for negative numbers");
+        if (n <= MAX_FACTORIAL) {
+            return BigInteger.valueOf(FACTORIALS[n]);
+        }
+        return product(2, n);
+    }
+
+    public static BigInteger bigBinomial(int n, int k) {
+        if (n < 0) throw new IllegalArgumentException("n must be non-negative");
+        if (k < 0 || k > n) {
+            return BigInteger.ZERO;
+        }
+        k = Math.min(k, n - k);
+        if (k == 0) {
+            return BigInteger.ONE;
+        }
+        return product(n - k + 1, n).divide(bigFactorial(k));
+    }
+
+    // Product of lo..hi inclusive, split in halves so both operands grow together.
+    private static BigInteger product(int lo, int hi) {
+        if (hi - lo < LEAF_SIZE) {
+            BigInteger result = BigInteger.ONE;
+            long partial = 1;
+            for (long i = lo; i <= hi; i++) {
+                if (partial > Long.MAX_VALUE / i) {
+                    result = result.multiply(BigInteger.valueOf(partial));
+                    partial = 1;
+                }
+                partial *= i;
+            }
+            return result.multiply(BigInteger.valueOf(partial));
+        }
+        int mid = (lo + hi) >>> 1;
+        return product(lo, mid).multiply(product(mid + 1, hi));
+    }
+
+    /**
+     * Factorials and inverse factorials modulo a prime, for constant-time nCr mod p with
+     * {@code n <= maxN}. The modulus must be a prime larger than {@code maxN}.
+     */
+    public static final class ModularTable {
+        private final long modulus;
+        private final long[] factorials;
+        private final long[] inverseFactorials;
+
+        public ModularTable(int maxN, long modulus) {
+            if (maxN < 0) throw new IllegalArgumentException("maxN must be non-negative");
+            if (modulus <= maxN || !BasicMathUtils.isPrime(modulus)) {
+                throw new IllegalArgumentException("Modulus must be a prime greater than maxN");
+            }
+            this.modulus = modulus;
+            this.factorials = new long[maxN + 1];
+            this.inverseFactorials = new long[maxN + 1];
+            factorials[0] = 1;
+            for (int i = 1; i <= maxN; i++) {
+                factorials[i] = ModularArithmetic.mulMod(factorials[i - 1], i, modulus);
+            }
+            // One modular inverse by Fermat, then walk down: 1/(i-1)! = i / i!.
+            inverseFactorials[maxN] = ModularArithmetic.powMod(factorials[maxN], modulus - 2, modulus);
+            for (int i = maxN; i > 0; i--) {
+                inverseFactorials[i - 1] = ModularArithmetic.mulMod(inverseFactorials[i], i, modulus);
+            }
+        }
+
+        public long getModulus() {
+            return modulus;
+        }
+
+        public int getMaxN() {
+            return factorials.length - 1;
+        }
+
+        public long factorial(int n) {
+            checkRange(n);
+            return factorials[n];
+        }
+
+        public long inverseFactorial(int n) {
+            checkRange(n);
+            return inverseFactorials[n];
+        }
+
+        public long binomial(int n, int k) {
+            checkRange(n);
+            if (k < 0 || k > n) {
+                return 0;
+            }
+            long partial = ModularArithmetic.mulMod(factorials[n], inverseFactorials[k], modulus);
+            return ModularArithmetic.mulMod(partial, inverseFactorials[n - k], modulus);
+        }
+
+        // Number of ordered selections of k items from n, n! / (n - k)!.
+        public long permutations(int n, int k) {
+            checkRange(n);
+            if (k < 0 || k > n) {
+                return 0;
+            }
+            return ModularArithmetic.mulMod(factorials[n], inverseFactorials[n - k], modulus);
+        }
+
+        private void checkRange(int n) {
+            if (n < 0 || n >= factorials.length) {
+                throw new IllegalArgumentException("n must be between 0 and " + (factorials.length - 1));
+            }
+        }
+    }
+}
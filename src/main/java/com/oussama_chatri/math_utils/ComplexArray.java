@@ -0,0 +1,222 @@
+package com.oussama_chatri.math_utils;
+
+/**
+ * A mutable array of complex numbers stored as two parallel {@code double[]} arrays, one for
+ * real parts and one for imaginary parts. Element-wise operations update this array in place
+ * and create no {@link AdvancedMathUtils.Complex} objects, so whole spectra can be filtered,
+ * correlated and measured without allocation.
+ * <p>
+ * {@link #fft()} and {@link #inverseFft()} transform the array in place, so a pipeline can go
+ * from signal to spectrum and back on the same storage.
+ */
+public final class ComplexArray {
+
+    private final double[] real;
+    private final double[] imag;
+
+    public ComplexArray(int length) {
+        this(new double[length], new double[length]);
+    }
+
+    private ComplexArray(double[] real, double[] imag) {
+        this.real = real;
+        this.imag = imag;
+    }
+
+    // Shares the given arrays; writes through this object are visible in them and vice versa.
+    public static ComplexArray wrap(double[] real, double[] imag) {
+        if (real.length != imag.length) {
+            throw new IllegalArgumentException("Real and imaginary arrays must have same length");
+        }
+        return new ComplexArray(real, imag);
+    }
+
+    public static ComplexArray fromReal(double[] values) {
+        return new ComplexArray(values.clone(), new double[values.length]);
+    }
+
+    public static ComplexArray of(AdvancedMathUtils.Complex... values) {
+        ComplexArray array = new ComplexArray(values.length);
+        for (int i = 0; i < values.length; i++) {
+            array.real[i] = values[i].getReal();
+            array.imag[i] = values[i].getImaginary();
+        }
+        return array;
+    }
+
+    public int length() {
+        return real.length;
+    }
+
+    // Backing array of real parts, not a copy.
+    public double[] real() {
+        return real;
+    }
+
+    // Backing array of imaginary parts, not a copy.
+    public double[] imaginary() {
+        return imag;
+    }
+
+    public double getReal(int index) {
+        return real[index];
+    }
+
+    public double getImaginary(int index) {
+        return imag[index];
+    }
+
+    public AdvancedMathUtils.Complex get(int index) {
+        return new AdvancedMathUtils.Complex(real[index], imag[index]);
+    }
+
+    public void set(int index, double re, double im) {
+        real[index] = re;
+        imag[index] = im;
+    }
+
+    public void set(int index, AdvancedMathUtils.Complex value) {
+        set(index, value.getReal(), value.getImaginary());
+    }
+
+    public ComplexArray copy() {
+        return new ComplexArray(real.clone(), imag.clone());
+    }
+
+    public AdvancedMathUtils.Complex[] toComplexArray() {
+        AdvancedMathUtils.Complex[] result = new AdvancedMathUtils.Complex[real.length];
+        for (int i = 0; i < real.length; i++) {
+            result[i] = new AdvancedMathUtils.Complex(real[i], imag[i]);
+        }
+        return result;
+    }
+
+    public ComplexArray add(ComplexArray other) {
+        checkLength(other);
+        for (int i = 0; i < real.length; i++) {
+            real[i] += other.real[i];
+            imag[i] += other.imag[i];
+        }
+        return this;
+    }
+
+    public ComplexArray subtract(ComplexArray other) {
+        checkLength(other);
+        for (int i = 0; i < real.length; i++) {
+            real[i] -= other.real[i];
+            imag[i] -= other.imag[i];
+        }
+        return this;
+    }
+
+    public ComplexArray multiply(ComplexArray other) {
+        checkLength(other);
+        double[] otherReal = other.real;
+        double[] otherImag = other.imag;
+        for (int i = 0; i < real.length; i++) {
+            double a = real[i], b = imag[i];
+            double c = otherReal[i], d = otherImag[i];
+            real[i] = a * c - b * d;
+            imag[i] = a * d + b * c;
+        }
+        return this;
+    }
+
+    // this[i] = this[i] * conj(other[i]), the cross-spectrum used for correlation.
+    public ComplexArray conjugateMultiply(ComplexArray other) {
+        checkLength(other);
+        double[] otherReal = other.real;
+        double[] otherImag = other.imag;
+        for (int i = 0; i < real.length; i++) {
+            double a = real[i], b = imag[i];
+            double c = otherReal[i], d = otherImag[i];
+            real[i] = a * c + b * d;
+            imag[i] = b * c - a * d;
+        }
+        return this;
+    }
+
+    public ComplexArray scale(double factor) {
+        for (int i = 0; i < real.length; i++) {
+            real[i] *= factor;
+            imag[i] *= factor;
+        }
+        return this;
+    }
+
+    public ComplexArray conjugate() {
+        for (int i = 0; i < imag.length; i++) {
+            imag[i] = -imag[i];
+        }
+        return this;
+    }
+
+    public double[] magnitudeSquared() {
+        return magnitudeSquared(new double[real.length]);
+    }
+
+    public double[] magnitudeSquared(double[] out) {
+        checkOutput(out);
+        for (int i = 0; i < real.length; i++) {
+            out[i] = real[i] * real[i] + imag[i] * imag[i];
+        }
+        return out;
+    }
+
+    public double[] magnitude() {
+        return magnitude(new double[real.length]);
+    }
+
+    public double[] magnitude(double[] out) {
+        checkOutput(out);
+        for (int i = 0; i < real.length; i++) {
+            out[i] = Math.sqrt(real[i] * real[i] + imag[i] * imag[i]);
+        }
+        return out;
+    }
+
+    public double[] phase() {
+        return phase(new double[real.length]);
+    }
+
+    public double[] phase(double[] out) {
+        checkOutput(out);
+        for (int i = 0; i < real.length; i++) {
+            out[i] = Math.atan2(imag[i], real[i]);
+        }
+        return out;
+    }
+
+    public ComplexArray fft() {
+        FFT.forward(real, imag);
+        return this;
+    }
+
+    // Scaled by 1/n so that fft().inverseFft() restores the original values.
+    public ComplexArray inverseFft() {
+        FFT.inverse(real, imag);
+        return this;
+    }
+
+    private void checkLength(ComplexArray other) {
+        if (other.real.length != real.length) {
+            throw new IllegalArgumentException("Arrays must have same length");
+        }
+    }
+
+    private void checkOutput(double[] out) {
+        if (out.length != real.length) {
+            throw new IllegalArgumentException("Output length must match array length");
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < real.length; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(real[i]).append(imag[i] >= 0 ? " + " : " - ").append(Math.abs(imag[i])).append('i');
+        }
+        return builder.append(']').toString();
+    }
+}
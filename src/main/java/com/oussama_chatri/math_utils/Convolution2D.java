@@ -0,0 +1,312 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * 2D sliding-window convolution (without kernel flip, matching
+ * {@link AdvancedMathUtils#convolution}) with automatic strategy selection:
+ * <ul>
+ *     <li>direct accumulation for small kernels,</li>
+ *     <li>two 1D passes when the kernel is rank 1 (separable),</li>
+ *     <li>tiled 2D FFT overlap-add for large kernels.</li>
+ * </ul>
+ * Output rows are computed in parallel once the work is large enough.
+ */
+final class Convolution2D {
+
+    private static final int DIRECT_MAX_TAPS = 9;
+    private static final int FFT_MIN_TAPS = 121;
+    private static final long PARALLEL_THRESHOLD = 1L << 16;
+    private static final int MIN_FFT_TILE = 64;
+    private static final double SEPARABLE_TOLERANCE = 1e-12;
+
+    private Convolution2D() {
+    }
+
+    static double[][] convolve(double[][] matrix, double[][] kernel, AdvancedMathUtils.ConvolutionMode mode) {
+        int mRows = matrix.length;
+        int mCols = matrix[0].length;
+        int kRows = kernel.length;
+        int kCols = kernel[0].length;
+
+        int padTop;
+        int padLeft;
+        int outRows;
+        int outCols;
+        switch (mode) {
+            case FULL:
+                padTop = kRows - 1;
+                padLeft = kCols - 1;
+                outRows = mRows + kRows - 1;
+                outCols = mCols + kCols - 1;
+                break;
+            case SAME:
+                padTop = (kRows - 1) / 2;
+                padLeft = (kCols - 1) / 2;
+                outRows = mRows;
+                outCols = mCols;
+                break;
+            default:
+                if (kRows > mRows || kCols > mCols) {
+                    throw new IllegalArgumentException("Kernel must not be larger than the matrix in VALID mode");
+                }
+                padTop = 0;
+                padLeft = 0;
+                outRows = mRows - kRows + 1;
+                outCols = mCols - kCols + 1;
+                break;
+        }
+
+        Window window = new Window(matrix, mRows, mCols, kRows, kCols, padTop, padLeft, outRows, outCols);
+        int taps = kRows * kCols;
+        if (taps <= DIRECT_MAX_TAPS) {
+            return direct(window, kernel);
+        }
+        double[][] factors = separate(kernel);
+        if (factors != null) {
+            return separable(window, factors[0], factors[1]);
+        }
+        if (taps >= FFT_MIN_TAPS) {
+            return overlapAdd(window, kernel);
+        }
+        return direct(window, kernel);
+    }
+
+    static double[][] direct(Window w, double[][] kernel) {
+        double[][] out = new double[w.outRows][w.outCols];
+        forEachRow(w.outRows, (long) w.outRows * w.outCols * w.kRows * w.kCols, i -> {
+            double[] outRow = out[i];
+            for (int ki = 0; ki < w.kRows; ki++) {
+                int r = i + ki - w.padTop;
+                if (r < 0 || r >= w.mRows) {
+                    continue;
+                }
+                double[] src = w.matrix[r];
+                double[] kernelRow = kernel[ki];
+                for (int kj = 0; kj < w.kCols; kj++) {
+                    double kv = kernelRow[kj];
+                    int shift = kj - w.padLeft;
+                    int from = Math.max(0, -shift);
+                    int to = Math.min(w.outCols, w.mCols - shift);
+                    for (int j = from; j < to; j++) {
+                        outRow[j] += kv * src[j + shift];
+                    }
+                }
+            }
+        });
+        return out;
+    }
+
+    // Returns {column, row} with kernel[i][j] == column[i] * row[j], or null if not rank 1.
+    static double[][] separate(double[][] kernel) {
+        int kRows = kernel.length;
+        int kCols = kernel[0].length;
+        int pivotRow = 0;
+        int pivotCol = 0;
+        double max = 0;
+        for (int i = 0; i < kRows; i++) {
+            for (int j = 0; j < kCols; j++) {
+                double value = Math.abs(kernel[i][j]);
+                if (value > max) {
+                    max = value;
+                    pivotRow = i;
+                    pivotCol = j;
+                }
+            }
+        }
+        if (max == 0) {
+            return null;
+        }
+        double[] column = new double[kRows];
+        double[] row = new double[kCols];
+        for (int i = 0; i < kRows; i++) {
+            column[i] = kernel[i][pivotCol];
+        }
+        double pivot = kernel[pivotRow][pivotCol];
+        for (int j = 0; j < kCols; j++) {
+            row[j] = kernel[pivotRow][j] / pivot;
+        }
+        double tolerance = SEPARABLE_TOLERANCE * max;
+        for (int i = 0; i < kRows; i++) {
+            for (int j = 0; j < kCols; j++) {
+                if (Math.abs(kernel[i][j] - column[i] * row[j]) > tolerance) {
+                    return null;
+                }
+            }
+        }
+        return new double[][]{column, row};
+    }
+
+    static double[][] separable(Window w, double[] column, double[] row) {
+        double[][] horizontal = new double[w.mRows][w.outCols];
+        forEachRow(w.mRows, (long) w.mRows * w.outCols * w.kCols, r -> {
+            double[] src = w.matrix[r];
+            double[] dst = horizontal[r];
+            for (int kj = 0; kj < w.kCols; kj++) {
+                double kv = row[kj];
+                int shift = kj - w.padLeft;
+                int from = Math.max(0, -shift);
+                int to = Math.min(w.outCols, w.mCols - shift);
+                for (int j = from; j < to; j++) {
+                    dst[j] += kv * src[j + shift];
+                }
+            }
+        });
+
+        double[][] out = new double[w.outRows][w.outCols];
+        forEachRow(w.outRows, (long) w.outRows * w.outCols * w.kRows, i -> {
+            double[] dst = out[i];
+            for (int ki = 0; ki < w.kRows; ki++) {
+                int r = i + ki - w.padTop;
+                if (r < 0 || r >= w.mRows) {
+                    continue;
+                }
+                double kv = column[ki];
+                double[] src = horizontal[r];
+                for (int j = 0; j < w.outCols; j++) {
+                    dst[j] += kv * src[j];
+                }
+            }
+        });
+        return out;
+    }
+
+    // Correlation is computed as a linear convolution with the flipped kernel, tile by tile.
+    static double[][] overlapAdd(Window w, double[][] kernel) {
+        int fftRows = fftSize(w.kRows, w.mRows);
+        int fftCols = fftSize(w.kCols, w.mCols);
+        int tileRows = fftRows - w.kRows + 1;
+        int tileCols = fftCols - w.kCols + 1;
+
+        double[] kernelReal = new double[fftRows * fftCols];
+        double[] kernelImag = new double[fftRows * fftCols];
+        for (int u = 0; u < w.kRows; u++) {
+            for (int v = 0; v < w.kCols; v++) {
+                kernelReal[u * fftCols + v] = kernel[w.kRows - 1 - u][w.kCols - 1 - v];
+            }
+        }
+        fft2d(kernelReal, kernelImag, fftRows, fftCols, false);
+
+        double[][] out = new double[w.outRows][w.outCols];
+        int tileRowCount = (w.mRows + tileRows - 1) / tileRows;
+        // A tile row only spills into the next one, so even and odd tile rows can run in parallel.
+        for (int parity = 0; parity < 2; parity++) {
+            int first = parity;
+            IntStream.range(0, (tileRowCount - first + 1) / 2).parallel().forEach(t -> {
+                int tileRow = first + 2 * t;
+                double[] real = new double[fftRows * fftCols];
+                double[] imag = new double[fftRows * fftCols];
+                int rowStart = tileRow * tileRows;
+                int rowCount = Math.min(tileRows, w.mRows - rowStart);
+                for (int colStart = 0; colStart < w.mCols; colStart += tileCols) {
+                    int colCount = Math.min(tileCols, w.mCols - colStart);
+                    Arrays.fill(real, 0);
+                    Arrays.fill(imag, 0);
+                    for (int r = 0; r < rowCount; r++) {
+                        System.arraycopy(w.matrix[rowStart + r], colStart, real, r * fftCols, colCount);
+                    }
+                    fft2d(real, imag, fftRows, fftCols, false);
+                    for (int i = 0; i < real.length; i++) {
+                        double re = real[i] * kernelReal[i] - imag[i] * kernelImag[i];
+                        double im = real[i] * kernelImag[i] + imag[i] * kernelReal[i];
+                        real[i] = re;
+                        imag[i] = im;
+                    }
+                    fft2d(real, imag, fftRows, fftCols, true);
+
+                    int outRowBase = rowStart - (w.kRows - 1) + w.padTop;
+                    int outColBase = colStart - (w.kCols - 1) + w.padLeft;
+                    int rowsUsed = rowCount + w.kRows - 1;
+                    int colsUsed = colCount + w.kCols - 1;
+                    for (int u = 0; u < rowsUsed; u++) {
+                        int outRow = outRowBase + u;
+                        if (outRow < 0 || outRow >= w.outRows) {
+                            continue;
+                        }
+                        double[] dst = out[outRow];
+                        int from = Math.max(0, -outColBase);
+                        int to = Math.min(colsUsed, w.outCols - outColBase);
+                        for (int v = from; v < to; v++) {
+                            dst[outColBase + v] += real[u * fftCols + v];
+                        }
+                    }
+                }
+            });
+        }
+        return out;
+    }
+
+    private static int fftSize(int kernelSize, int matrixSize) {
+        int tiled = Integer.highestOneBit(Math.max(2 * kernelSize, MIN_FFT_TILE) - 1) << 1;
+        int whole = Integer.highestOneBit(Math.max(matrixSize + kernelSize - 1, 2) - 1) << 1;
+        return Math.min(tiled, whole);
+    }
+
+    private static void fft2d(double[] real, double[] imag, int rows, int cols, boolean inverse) {
+        double[] lineReal = new double[cols];
+        double[] lineImag = new double[cols];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(real, r * cols, lineReal, 0, cols);
+            System.arraycopy(imag, r * cols, lineImag, 0, cols);
+            if (inverse) {
+                FFT.inverse(lineReal, lineImag);
+            } else {
+                FFT.forward(lineReal, lineImag);
+            }
+            System.arraycopy(lineReal, 0, real, r * cols, cols);
+            System.arraycopy(lineImag, 0, imag, r * cols, cols);
+        }
+        lineReal = new double[rows];
+        lineImag = new double[rows];
+        for (int c = 0; c < cols; c++) {
+            for (int r = 0; r < rows; r++) {
+                lineReal[r] = real[r * cols + c];
+                lineImag[r] = imag[r * cols + c];
+            }
+            if (inverse) {
+                FFT.inverse(lineReal, lineImag);
+            } else {
+                FFT.forward(lineReal, lineImag);
+            }
+            for (int r = 0; r < rows; r++) {
+                real[r * cols + c] = lineReal[r];
+                imag[r * cols + c] = lineImag[r];
+            }
+        }
+    }
+
+    private static void forEachRow(int rows, long work, IntConsumer body) {
+        IntStream range = IntStream.range(0, rows);
+        if (work >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(body);
+    }
+
+    static final class Window {
+        final double[][] matrix;
+        final int mRows;
+        final int mCols;
+        final int kRows;
+        final int kCols;
+        final int padTop;
+        final int padLeft;
+        final int outRows;
+        final int outCols;
+
+        Window(double[][] matrix, int mRows, int mCols, int kRows, int kCols,
+               int padTop, int padLeft, int outRows, int outCols) {
+            this.matrix = matrix;
+            this.mRows = mRows;
+            this.mCols = mCols;
+            this.kRows = kRows;
+            this.kCols = kCols;
+            this.padTop = padTop;
+            this.padLeft = padLeft;
+            this.outRows = outRows;
+            this.outCols = outCols;
+        }
+    }
+}
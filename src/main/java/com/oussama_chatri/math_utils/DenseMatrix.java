@@ -0,0 +1,257 @@
+package com.oussama_chatri.math_utils;
+
+/**
+ * Matrix backed by a single row-major {@code double[]} addressed through an offset and
+ * row/column strides.
+ * <p>
+ * {@link #subMatrix}, {@link #row} and {@link #column} return views that share storage with
+ * this matrix, so writes through a view are visible in the parent and vice versa. Arithmetic
+ * always returns a new contiguous matrix. Use {@link #fromMatrix}/{@link #toMatrix} or
+ * {@link #toArray} to convert to and from {@link AdvancedMathUtils.Matrix}.
+ */
+public class DenseMatrix {
+    private final double[] data;
+    private final int offset;
+    private final int rows;
+    private final int cols;
+    private final int rowStride;
+    private final int colStride;
+
+    public DenseMatrix(int rows, int cols) {
+        this(new double[checkedSize(rows, cols)], 0, rows, cols, cols, 1);
+    }
+
+    public DenseMatrix(double[][] data) {
+        this(data.length, data[0].length);
+        for (int i = 0; i < rows; i++) {
+            if (data[i].length != cols) {
+                throw new IllegalArgumentException("All rows must have the same length");
+            }
+            System.arraycopy(data[i], 0, this.data, i * cols, cols);
+        }
+    }
+
+    private DenseMatrix(double[] data, int offset, int rows, int cols, int rowStride, int colStride) {
+        this.data = data;
+        this.offset = offset;
+        this.rows = rows;
+        this.cols = cols;
+        this.rowStride = rowStride;
+        this.colStride = colStride;
+    }
+
+    public static DenseMatrix wrap(double[] data, int rows, int cols) {
+        if (data.length != checkedSize(rows, cols)) {
+            throw new IllegalArgumentException("Array length must equal rows * cols");
+        }
+        return new DenseMatrix(data, 0, rows, cols, cols, 1);
+    }
+
+    public static DenseMatrix fromMatrix(AdvancedMathUtils.Matrix matrix) {
+        return new DenseMatrix(matrix.rawData());
+    }
+
+    public AdvancedMathUtils.Matrix toMatrix() {
+        return new AdvancedMathUtils.Matrix(toArray());
+    }
+
+    public double[][] toArray() {
+        double[][] result = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            if (colStride == 1) {
+                System.arraycopy(data, offset + i * rowStride, result[i], 0, cols);
+            } else {
+                int index = offset + i * rowStride;
+                for (int j = 0; j < cols; j++, index += colStride) {
+                    result[i][j] = data[index];
+                }
+            }
+        }
+        return result;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public double get(int row, int col) {
+        return data[index(row, col)];
+    }
+
+    public void set(int row, int col, double value) {
+        data[index(row, col)] = value;
+    }
+
+    public boolean isContiguous() {
+        return colStride == 1 && (rowStride == cols || rows == 1);
+    }
+
+    // Raw layout, so package code can read a view in place: element (i, j) is at
+    // backingArray()[offset() + i * rowStride() + j * colStride()].
+    double[] backingArray() {
+        return data;
+    }
+
+    int offset() {
+        return offset;
+    }
+
+    int rowStride() {
+        return rowStride;
+    }
+
+    int colStride() {
+        return colStride;
+    }
+
+    public DenseMatrix subMatrix(int row, int col, int numRows, int numCols) {
+        if (row < 0 || col < 0 || numRows < 0 || numCols < 0
+                || row + numRows > rows || col + numCols > cols) {
+            throw new IndexOutOfBoundsException("Submatrix out of bounds");
+        }
+        return new DenseMatrix(data, offset + row * rowStride + col * colStride,
+                numRows, numCols, rowStride, colStride);
+    }
+
+    public DenseMatrix row(int row) {
+        return subMatrix(row, 0, 1, cols);
+    }
+
+    public DenseMatrix column(int col) {
+        return subMatrix(0, col, rows, 1);
+    }
+
+    public DenseMatrix copy() {
+        DenseMatrix result = new DenseMatrix(rows, cols);
+        if (isContiguous()) {
+            System.arraycopy(data, offset, result.data, 0, rows * cols);
+            return result;
+        }
+        for (int i = 0; i < rows; i++) {
+            int src = offset + i * rowStride;
+            int dst = i * cols;
+            for (int j = 0; j < cols; j++, src += colStride) {
+                result.data[dst + j] = data[src];
+            }
+        }
+        return result;
+    }
+
+    public DenseMatrix add(DenseMatrix other) {
+        requireSameShape(other);
+        DenseMatrix result = copy();
+        if (other.isContiguous()) {
+            double[] r = result.data;
+            double[] o = other.data;
+            for (int i = 0, j = other.offset, n = rows * cols; i < n; i++, j++) {
+                r[i] += o[j];
+            }
+            return result;
+        }
+        for (int i = 0; i < rows; i++) {
+            int src = other.offset + i * other.rowStride;
+            int dst = i * cols;
+            for (int j = 0; j < cols; j++, src += other.colStride) {
+                result.data[dst + j] += other.data[src];
+            }
+        }
+        return result;
+    }
+
+    public DenseMatrix subtract(DenseMatrix other) {
+        requireSameShape(other);
+        DenseMatrix result = copy();
+        if (other.isContiguous()) {
+            double[] r = result.data;
+            double[] o = other.data;
+            for (int i = 0, j = other.offset, n = rows * cols; i < n; i++, j++) {
+                r[i] -= o[j];
+            }
+            return result;
+        }
+        for (int i = 0; i < rows; i++) {
+            int src = other.offset + i * other.rowStride;
+            int dst = i * cols;
+            for (int j = 0; j < cols; j++, src += other.colStride) {
+                result.data[dst + j] -= other.data[src];
+            }
+        }
+        return result;
+    }
+
+    public DenseMatrix scalarMultiply(double scalar) {
+        DenseMatrix result = copy();
+        double[] r = result.data;
+        for (int i = 0, n = rows * cols; i < n; i++) {
+            r[i] *= scalar;
+        }
+        return result;
+    }
+
+    public DenseMatrix transpose() {
+        DenseMatrix result = new DenseMatrix(cols, rows);
+        for (int i = 0; i < rows; i++) {
+            int src = offset + i * rowStride;
+            for (int j = 0; j < cols; j++, src += colStride) {
+                result.data[j * rows + i] = data[src];
+            }
+        }
+        return result;
+    }
+
+    public DenseMatrix multiply(DenseMatrix other) {
+        if (this.cols != other.rows) {
+            throw new IllegalArgumentException("Invalid matrix dimensions for multiplication");
+        }
+        int m = rows;
+        int k = cols;
+        int n = other.cols;
+
+        double[] a = data;
+        int aOffset = offset;
+        int aRowStride = rowStride;
+        if (colStride != 1) {
+            DenseMatrix packed = copy();
+            a = packed.data;
+            aOffset = 0;
+            aRowStride = k;
+        }
+
+        double[] bt = new double[n * k];
+        for (int p = 0; p < k; p++) {
+            int src = other.offset + p * other.rowStride;
+            for (int j = 0; j < n; j++, src += other.colStride) {
+                bt[j * k + p] = other.data[src];
+            }
+        }
+
+        DenseMatrix result = new DenseMatrix(m, n);
+        MatrixMultiplier.multiply(a, aOffset, aRowStride, bt, result.data, m, k, n);
+        return result;
+    }
+
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds for "
+                    + rows + "x" + cols + " matrix");
+        }
+        return offset + row * rowStride + col * colStride;
+    }
+
+    private void requireSameShape(DenseMatrix other) {
+        if (this.rows != other.rows || this.cols != other.cols) {
+            throw new IllegalArgumentException("Matrix dimensions must match");
+        }
+    }
+
+    private static int checkedSize(int rows, int cols) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException("Matrix dimensions must be non-negative");
+        }
+        return Math.multiplyExact(rows, cols);
+    }
+}
@@ -0,0 +1,180 @@
+package com.oussama_chatri.math_utils;
+
+/**
+ * Count, sum, min, max, mean and variance of a {@code double[]} gathered in a single sweep
+ * over memory.
+ * <p>
+ * The input is processed in L1-sized blocks. Each block is summed with four independent
+ * accumulators, then its squared deviations are taken from the block mean while the block is
+ * still in cache. Blocks are combined with Chan's parallel update, which is as stable as a
+ * full two-pass algorithm. The block sums are combined with Neumaier compensation. The inner
+ * loops have no divisions or cross-iteration dependencies, so the JIT can unroll and
+ * vectorise them.
+ */
+public final class DescriptiveStats {
+
+    private static final int BLOCK = 1024;
+
+    private final long count;
+    private final double sum;
+    private final double min;
+    private final double max;
+    private final double mean;
+    private final double m2;
+
+    private DescriptiveStats(long count, double sum, double min, double max, double mean, double m2) {
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    public static DescriptiveStats of(double... values) {
+        return of(values, 0, values.length);
+    }
+
+    public static DescriptiveStats of(double[] values, int from, int to) {
+        if (from < 0 || to > values.length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length "
+                    + values.length);
+        }
+        long count = 0;
+        double sum = 0;
+        double compensation = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double mean = 0;
+        double m2 = 0;
+
+        for (int start = from; start < to; start += BLOCK) {
+            int end = Math.min(start + BLOCK, to);
+            int n = end - start;
+
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            double lo0 = Double.POSITIVE_INFINITY, lo1 = lo0, lo2 = lo0, lo3 = lo0;
+            double hi0 = Double.NEGATIVE_INFINITY, hi1 = hi0, hi2 = hi0, hi3 = hi0;
+            int i = start;
+            for (; i + 3 < end; i += 4) {
+                double v0 = values[i];
+                double v1 = values[i + 1];
+                double v2 = values[i + 2];
+                double v3 = values[i + 3];
+                s0 += v0;
+                s1 += v1;
+                s2 += v2;
+                s3 += v3;
+                lo0 = Math.min(lo0, v0);
+                lo1 = Math.min(lo1, v1);
+                lo2 = Math.min(lo2, v2);
+                lo3 = Math.min(lo3, v3);
+                hi0 = Math.max(hi0, v0);
+                hi1 = Math.max(hi1, v1);
+                hi2 = Math.max(hi2, v2);
+                hi3 = Math.max(hi3, v3);
+            }
+            for (; i < end; i++) {
+                double v = values[i];
+                s0 += v;
+                lo0 = Math.min(lo0, v);
+                hi0 = Math.max(hi0, v);
+            }
+            double blockSum = (s0 + s1) + (s2 + s3);
+            double blockMean = blockSum / n;
+
+            double d0 = 0, d1 = 0, d2 = 0, d3 = 0;
+            i = start;
+            for (; i + 3 < end; i += 4) {
+                double e0 = values[i] - blockMean;
+                double e1 = values[i + 1] - blockMean;
+                double e2 = values[i + 2] - blockMean;
+                double e3 = values[i + 3] - blockMean;
+                d0 += e0 * e0;
+                d1 += e1 * e1;
+                d2 += e2 * e2;
+                d3 += e3 * e3;
+            }
+            for (; i < end; i++) {
+                double e = values[i] - blockMean;
+                d0 += e * e;
+            }
+            double blockM2 = (d0 + d1) + (d2 + d3);
+
+            double t = sum + blockSum;
+            if (Math.abs(sum) >= Math.abs(blockSum)) {
+                compensation += (sum - t) + blockSum;
+            } else {
+                compensation += (blockSum - t) + sum;
+            }
+            sum = t;
+            min = Math.min(min, Math.min(Math.min(lo0, lo1), Math.min(lo2, lo3)));
+            max = Math.max(max, Math.max(Math.max(hi0, hi1), Math.max(hi2, hi3)));
+
+            long total = count + n;
+            double delta = blockMean - mean;
+            mean += delta * n / total;
+            m2 += blockM2 + delta * delta * ((double) count * n / total);
+            count = total;
+        }
+
+        if (count == 0) {
+            return new DescriptiveStats(0, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+        }
+        return new DescriptiveStats(count, sum + compensation, min, max, mean, m2);
+    }
+
+    public DescriptiveStats combine(DescriptiveStats other) {
+        if (other.count == 0) {
+            return this;
+        }
+        if (count == 0) {
+            return other;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        double combinedMean = mean + delta * other.count / total;
+        double combinedM2 = m2 + other.m2 + delta * delta * ((double) count * other.count / total);
+        return new DescriptiveStats(total, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max),
+                combinedMean, combinedM2);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    // Population variance, matching BasicMathUtils.variance.
+    public double getVariance() {
+        return count == 0 ? Double.NaN : m2 / count;
+    }
+
+    public double getSampleVariance() {
+        return count < 2 ? Double.NaN : m2 / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return "DescriptiveStats{count=" + count + ", sum=" + sum + ", min=" + min + ", max=" + max
+                + ", mean=" + mean + ", variance=" + getVariance() + "}";
+    }
+}
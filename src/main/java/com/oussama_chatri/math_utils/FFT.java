@@ -0,0 +1,182 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-place complex FFT over split real/imaginary arrays. Power-of-two lengths use an
+ * iterative radix-2 transform; other lengths go through Bluestein's chirp-z algorithm.
+ * Twiddle tables and Bluestein chirps are cached per length.
+ */
+final class FFT {
+
+    private static final int MAX_CACHED_SIZES = 64;
+
+    private static final Map<Integer, double[][]> TWIDDLES = new ConcurrentHashMap<>();
+    private static final Map<Integer, BluesteinPlan> BLUESTEIN_PLANS = new ConcurrentHashMap<>();
+
+    private FFT() {
+    }
+
+    static void forward(double[] real, double[] imag) {
+        transform(real, imag, false);
+    }
+
+    // Inverse transform including the 1/n scaling.
+    static void inverse(double[] real, double[] imag) {
+        transform(real, imag, true);
+        int n = real.length;
+        double scale = 1.0 / n;
+        for (int i = 0; i < n; i++) {
+            real[i] *= scale;
+            imag[i] *= scale;
+        }
+    }
+
+    private static void transform(double[] real, double[] imag, boolean inverse) {
+        int n = real.length;
+        if (imag.length != n) {
+            throw new IllegalArgumentException("Real and imaginary parts must have same length");
+        }
+        if (n <= 1) {
+            return;
+        }
+        if ((n & (n - 1)) == 0) {
+            radix2(real, imag, inverse);
+        } else {
+            bluestein(real, imag, inverse);
+        }
+    }
+
+    private static void radix2(double[] real, double[] imag, boolean inverse) {
+        int n = real.length;
+        int shift = 32 - Integer.numberOfTrailingZeros(n);
+        for (int i = 1; i < n; i++) {
+            int j = Integer.reverse(i) >>> shift;
+            if (j > i) {
+                double t = real[i];
+                real[i] = real[j];
+                real[j] = t;
+                t = imag[i];
+                imag[i] = imag[j];
+                imag[j] = t;
+            }
+        }
+
+        double[][] table = twiddles(n);
+        double[] cos = table[0];
+        double[] sin = table[1];
+        double sign = inverse ? 1 : -1;
+        for (int size = 2; size <= n; size <<= 1) {
+            int half = size >>> 1;
+            int step = n / size;
+            for (int start = 0; start < n; start += size) {
+                for (int j = 0, k = 0; j < half; j++, k += step) {
+                    double wr = cos[k];
+                    double wi = sign * sin[k];
+                    int even = start + j;
+                    int odd = even + half;
+                    double tr = real[odd] * wr - imag[odd] * wi;
+                    double ti = real[odd] * wi + imag[odd] * wr;
+                    real[odd] = real[even] - tr;
+                    imag[odd] = imag[even] - ti;
+                    real[even] += tr;
+                    imag[even] += ti;
+                }
+            }
+        }
+    }
+
+    private static double[][] twiddles(int n) {
+        double[][] table = TWIDDLES.get(n);
+        if (table == null) {
+            int half = n >>> 1;
+            double[] cos = new double[half];
+            double[] sin = new double[half];
+            for (int k = 0; k < half; k++) {
+                double angle = 2 * Math.PI * k / n;
+                cos[k] = Math.cos(angle);
+                sin[k] = Math.sin(angle);
+            }
+            table = new double[][]{cos, sin};
+            cache(TWIDDLES, n, table);
+        }
+        return table;
+    }
+
+    private static void bluestein(double[] real, double[] imag, boolean inverse) {
+        int n = real.length;
+        BluesteinPlan plan = BLUESTEIN_PLANS.get(n);
+        if (plan == null) {
+            plan = new BluesteinPlan(n);
+            cache(BLUESTEIN_PLANS, n, plan);
+        }
+
+        // The inverse is computed as conj(FFT(conj(x))).
+        double sign = inverse ? -1 : 1;
+        int m = plan.size;
+        double[] ar = new double[m];
+        double[] ai = new double[m];
+        for (int k = 0; k < n; k++) {
+            double xr = real[k];
+            double xi = sign * imag[k];
+            ar[k] = xr * plan.chirpCos[k] + xi * plan.chirpSin[k];
+            ai[k] = xi * plan.chirpCos[k] - xr * plan.chirpSin[k];
+        }
+
+        radix2(ar, ai, false);
+        for (int k = 0; k < m; k++) {
+            double r = ar[k] * plan.kernelReal[k] - ai[k] * plan.kernelImag[k];
+            double i = ar[k] * plan.kernelImag[k] + ai[k] * plan.kernelReal[k];
+            ar[k] = r;
+            ai[k] = i;
+        }
+        radix2(ar, ai, true);
+
+        double scale = 1.0 / m;
+        for (int k = 0; k < n; k++) {
+            double cr = ar[k] * scale;
+            double ci = ai[k] * scale;
+            real[k] = cr * plan.chirpCos[k] + ci * plan.chirpSin[k];
+            imag[k] = sign * (ci * plan.chirpCos[k] - cr * plan.chirpSin[k]);
+        }
+    }
+
+    private static <V> void cache(Map<Integer, V> cache, int n, V value) {
+        if (cache.size() >= MAX_CACHED_SIZES) {
+            cache.clear();
+        }
+        cache.put(n, value);
+    }
+
+    private static final class BluesteinPlan {
+        final int size;
+        // exp(-i * pi * k^2 / n) is stored as cos - i * sin.
+        final double[] chirpCos;
+        final double[] chirpSin;
+        final double[] kernelReal;
+        final double[] kernelImag;
+
+        BluesteinPlan(int n) {
+            size = Integer.highestOneBit(2 * n - 1) << 1;
+            chirpCos = new double[n];
+            chirpSin = new double[n];
+            long period = 2L * n;
+            for (int k = 0; k < n; k++) {
+                double angle = Math.PI * (((long) k * k) % period) / n;
+                chirpCos[k] = Math.cos(angle);
+                chirpSin[k] = Math.sin(angle);
+            }
+
+            kernelReal = new double[size];
+            kernelImag = new double[size];
+            kernelReal[0] = chirpCos[0];
+            kernelImag[0] = chirpSin[0];
+            for (int k = 1; k < n; k++) {
+                kernelReal[k] = kernelReal[size - k] = chirpCos[k];
+                kernelImag[k] = kernelImag[size - k] = chirpSin[k];
+            }
+            radix2(kernelReal, kernelImag, false);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Blocked, fork-join matrix multiply used by {@link AdvancedMathUtils.Matrix#multiply}.
+ * <p>
+ * The right-hand operand is packed transposed so the inner product walks both operands
+ * contiguously, columns are processed in cache-sized tiles and row blocks are spread over
+ * the common fork-join pool. Every output cell is still accumulated in ascending {@code k}
+ * order starting from {@code 0.0}, so results are bit-identical (0 ulp difference) to the
+ * scalar i-j-k loop.
+ */
+final class MatrixMultiplier {
+
+    // Below this many multiply-adds the packing and task overhead outweighs the gain.
+    static final long PARALLEL_THRESHOLD = 64L * 64L * 64L;
+
+    private static final int ROW_BLOCK = 32;
+    private static final int COL_BLOCK = 64;
+    private static final int DEPTH_BLOCK = 256;
+
+    private MatrixMultiplier() {
+    }
+
+    static double[][] multiply(double[][] a, double[][] b, int m, int k, int n) {
+        if ((long) m * k * n < PARALLEL_THRESHOLD) {
+            return multiplyScalar(a, b, m, k, n);
+        }
+        double[] packedA = new double[packedSize(m, k)];
+        for (int i = 0; i < m; i++) {
+            System.arraycopy(a[i], 0, packedA, i * k, k);
+        }
+        double[] c = new double[packedSize(m, n)];
+        multiply(packedA, 0, k, packTransposed(b, k, n), c, m, k, n);
+
+        double[][] result = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            System.arraycopy(c, i * n, result[i], 0, n);
+        }
+        return result;
+    }
+
+    static double[][] multiplyScalar(double[][] a, double[][] b, int m, int k, int n) {
+        double[][] result = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int p = 0; p < k; p++) {
+                    result[i][j] += a[i][p] * b[p][j];
+                }
+            }
+        }
+        return result;
+    }
+
+    static double[] packTransposed(double[][] b, int k, int n) {
+        double[] bt = new double[packedSize(n, k)];
+        for (int p = 0; p < k; p++) {
+            double[] row = b[p];
+            for (int j = 0; j < n; j++) {
+                bt[j * k + p] = row[j];
+            }
+        }
+        return bt;
+    }
+
+    // Length of a flat rows x cols array, rejecting shapes whose element count overflows an int.
+    static int packedSize(int rows, int cols) {
+        try {
+            return Math.multiplyExact(rows, cols);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Matrix too large to pack: " + rows + "x" + cols, e);
+        }
+    }
+
+    /**
+     * Computes {@code c = a * b} where {@code a} is m x k starting at {@code aOffset} with
+     * {@code aRowStride} between rows and unit column stride, {@code bt} is b transposed and
+     * packed as n contiguous rows of length k, and {@code c} is a dense m x n row-major array.
+     */
+    static void multiply(double[] a, int aOffset, int aRowStride, double[] bt, double[] c, int m, int k, int n) {
+        if ((long) m * k * n < PARALLEL_THRESHOLD || m <= ROW_BLOCK) {
+            multiplyBlock(a, aOffset, aRowStride, bt, c, 0, m, k, n);
+        } else {
+            ForkJoinPool.commonPool().invoke(new RowBlockTask(a, aOffset, aRowStride, bt, c, 0, m, k, n));
+        }
+    }
+
+    private static void multiplyBlock(double[] a, int aOffset, int aRowStride, double[] bt, double[] c,
+                                      int rowStart, int rowEnd, int k, int n) {
+        for (int jj = 0; jj < n; jj += COL_BLOCK) {
+            int jEnd = Math.min(jj + COL_BLOCK, n);
+            for (int kk = 0; kk < k; kk += DEPTH_BLOCK) {
+                int kEnd = Math.min(kk + DEPTH_BLOCK, k);
+                for (int i = rowStart; i < rowEnd; i++) {
+                    int aRow = aOffset + i * aRowStride;
+                    int cRow = i * n;
+                    int j = jj;
+                    for (; j + 3 < jEnd; j += 4) {
+                        int b0 = j * k;
+                        int b1 = b0 + k;
+                        int b2 = b1 + k;
+                        int b3 = b2 + k;
+                        double s0 = c[cRow + j];
+                        double s1 = c[cRow + j + 1];
+                        double s2 = c[cRow + j + 2];
+                        double s3 = c[cRow + j + 3];
+                        for (int p = kk; p < kEnd; p++) {
+                            double av = a[aRow + p];
+                            s0 += av * bt[b0 + p];
+                            s1 += av * bt[b1 + p];
+                            s2 += av * bt[b2 + p];
+                            s3 += av * bt[b3 + p];
+                        }
+                        c[cRow + j] = s0;
+                        c[cRow + j + 1] = s1;
+                        c[cRow + j + 2] = s2;
+                        c[cRow + j + 3] = s3;
+                    }
+                    for (; j < jEnd; j++) {
+                        int b0 = j * k;
+                        double s = c[cRow + j];
+                        for (int p = kk; p < kEnd; p++) {
+                            s += a[aRow + p] * bt[b0 + p];
+                        }
+                        c[cRow + j] = s;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class RowBlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] a;
+        private final int aOffset;
+        private final int aRowStride;
+        private final double[] bt;
+        private final double[] c;
+        private final int rowStart;
+        private final int rowEnd;
+        private final int k;
+        private final int n;
+
+        RowBlockTask(double[] a, int aOffset, int aRowStride, double[] bt, double[] c,
+                     int rowStart, int rowEnd, int k, int n) {
+            this.a = a;
+            this.aOffset = aOffset;
+            this.aRowStride = aRowStride;
+            this.bt = bt;
+            this.c = c;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+            this.k = k;
+            this.n = n;
+        }
+
+        @Override
+        protected void compute() {
+            if (rowEnd - rowStart <= ROW_BLOCK) {
+                multiplyBlock(a, aOffset, aRowStride, bt, c, rowStart, rowEnd, k, n);
+                return;
+            }
+            int mid = (rowStart + rowEnd) >>> 1;
+            invokeAll(new RowBlockTask(a, aOffset, aRowStride, bt, c, rowStart, mid, k, n),
+                    new RowBlockTask(a, aOffset, aRowStride, bt, c, mid, rowEnd, k, n));
+        }
+    }
+}
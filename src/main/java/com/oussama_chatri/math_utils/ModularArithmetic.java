@@ -0,0 +1,128 @@
+package com.oussama_chatri.math_utils;
+
+/**
+ * Overflow-free 64-bit modular arithmetic. Products are formed as 128-bit values with
+ * {@link Math#multiplyHigh}; odd moduli use Montgomery reduction so repeated multiplications
+ * need no division at all.
+ */
+final class ModularArithmetic {
+
+    private ModularArithmetic() {
+    }
+
+    // (a * b) mod m for 0 <= a, b < m.
+    static long mulMod(long a, long b, long m) {
+        long hi = Math.multiplyHigh(a, b);
+        long lo = a * b;
+        if (hi == 0 && lo >= 0) {
+            return lo % m;
+        }
+        // hi < m because a, b < m, so shift the low word in one bit at a time.
+        long r = hi;
+        for (int bit = 63; bit >= 0; bit--) {
+            r = (r << 1) | ((lo >>> bit) & 1);
+            if (Long.compareUnsigned(r, m) >= 0) {
+                r -= m;
+            }
+        }
+        return r;
+    }
+
+    static long powMod(long base, long exponent, long m) {
+        if (m == 1) {
+            return 0;
+        }
+        base = Math.floorMod(base, m);
+        if ((m & 1) == 1) {
+            Montgomery mont = new Montgomery(m);
+            return mont.fromMontgomery(mont.pow(mont.toMontgomery(base), exponent));
+        }
+        long result = 1;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = mulMod(result, base, m);
+            }
+            exponent >>= 1;
+            base = mulMod(base, base, m);
+        }
+        return result;
+    }
+
+    static long unsignedMultiplyHigh(long a, long b) {
+        return Math.multiplyHigh(a, b) + ((a >> 63) & b) + ((b >> 63) & a);
+    }
+
+    /**
+     * Montgomery form for an odd modulus {@code 1 < n < 2^63}, with R = 2^64. Values passed
+     * to {@link #multiply} must already be in Montgomery form and below {@code n}.
+     */
+    static final class Montgomery {
+        final long modulus;
+        final long one;
+        private final long negativeInverse;
+        private final long rSquared;
+
+        Montgomery(long modulus) {
+            if (modulus <= 1 || (modulus & 1) == 0) {
+                throw new IllegalArgumentException("Montgomery modulus must be odd and greater than 1");
+            }
+            this.modulus = modulus;
+            long inverse = modulus;
+            for (int i = 0; i < 5; i++) {
+                inverse *= 2 - modulus * inverse;
+            }
+            this.negativeInverse = -inverse;
+            this.one = Long.remainderUnsigned(-modulus, modulus);
+            long r = one;
+            for (int i = 0; i < 64; i++) {
+                r <<= 1;
+                if (Long.compareUnsigned(r, modulus) >= 0) {
+                    r -= modulus;
+                }
+            }
+            this.rSquared = r;
+        }
+
+        long toMontgomery(long value) {
+            return multiply(Math.floorMod(value, modulus), rSquared);
+        }
+
+        long fromMontgomery(long value) {
+            return reduce(0, value);
+        }
+
+        long multiply(long a, long b) {
+            return reduce(Math.multiplyHigh(a, b), a * b);
+        }
+
+        long add(long a, long b) {
+            long sum = a + b;
+            return Long.compareUnsigned(sum, modulus) >= 0 ? sum - modulus : sum;
+        }
+
+        long subtract(long a, long b) {
+            long difference = a - b;
+            return difference < 0 ? difference + modulus : difference;
+        }
+
+        long pow(long base, long exponent) {
+            long result = one;
+            while (exponent > 0) {
+                if ((exponent & 1) == 1) {
+                    result = multiply(result, base);
+                }
+                exponent >>>= 1;
+                if (exponent > 0) {
+                    base = multiply(base, base);
+                }
+            }
+            return result;
+        }
+
+        private long reduce(long hi, long lo) {
+            long m = lo * negativeInverse;
+            long t = hi + unsignedMultiplyHigh(m, modulus) + (lo != 0 ? 1 : 0);
+            return Long.compareUnsigned(t, modulus) >= 0 ? t - modulus : t;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.oussama_chatri.math_utils;
+
+/**
+ * Pearson correlation of a stream of (x, y) pairs, updated one pair at a time without
+ * buffering. Means and co-moments are updated with Welford's method, which stays accurate
+ * when the data sit far from zero, where the sum-of-squares formula cancels. Accumulators
+ * built on separate shards can be combined with {@link #merge}.
+ * <p>
+ * Instances are not thread-safe; give each thread its own and merge the results.
+ */
+public final class OnlineCorrelation {
+
+    private final BivariateMoments moments = new BivariateMoments();
+
+    public void add(double x, double y) {
+        moments.add(x, y);
+    }
+
+    public void addAll(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Arrays must have same length");
+        }
+        moments.merge(BivariateMoments.of(x, y, 0, x.length));
+    }
+
+    public void merge(OnlineCorrelation other) {
+        moments.merge(other == this ? moments.copy() : other.moments);
+    }
+
+    public long getCount() {
+        return moments.count;
+    }
+
+    public double getMeanX() {
+        return moments.count == 0 ? Double.NaN : moments.meanX;
+    }
+
+    public double getMeanY() {
+        return moments.count == 0 ? Double.NaN : moments.meanY;
+    }
+
+    // Population covariance.
+    public double covariance() {
+        return moments.covariance();
+    }
+
+    public double correlation() {
+        if (moments.count < 2) {
+            throw new IllegalStateException("At least two points are required");
+        }
+        return moments.correlation();
+    }
+}
@@ -0,0 +1,65 @@
+package com.oussama_chatri.math_utils;
+
+/**
+ * Least-squares line y = slope * x + intercept fitted to a stream of points, updated one
+ * point at a time without buffering. The fit is kept as means and co-moments updated with
+ * Welford's method rather than raw sums of x, x^2 and xy, so it stays accurate for
+ * large-magnitude data. Accumulators built on separate shards can be combined with
+ * {@link #merge}.
+ * <p>
+ * Instances are not thread-safe; give each thread its own and merge the results.
+ */
+public final class OnlineLinearRegression {
+
+    private final BivariateMoments moments = new BivariateMoments();
+
+    public void add(double x, double y) {
+        moments.add(x, y);
+    }
+
+    public void addAll(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Arrays must have same length");
+        }
+        moments.merge(BivariateMoments.of(x, y, 0, x.length));
+    }
+
+    public void merge(OnlineLinearRegression other) {
+        moments.merge(other == this ? moments.copy() : other.moments);
+    }
+
+    public long getCount() {
+        return moments.count;
+    }
+
+    public double slope() {
+        checkCount();
+        return moments.slope();
+    }
+
+    public double intercept() {
+        checkCount();
+        return moments.intercept();
+    }
+
+    // Pearson correlation between x and y; its square is the coefficient of determination.
+    public double r() {
+        checkCount();
+        return moments.correlation();
+    }
+
+    public double rSquared() {
+        double r = r();
+        return r * r;
+    }
+
+    public double predict(double x) {
+        return slope() * x + intercept();
+    }
+
+    private void checkCount() {
+        if (moments.count < 2) {
+            throw new IllegalStateException("At least two points are required");
+        }
+    }
+}
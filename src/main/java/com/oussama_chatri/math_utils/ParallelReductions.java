@@ -0,0 +1,162 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join reductions over large {@code double[]} arrays whose results do not depend on
+ * the number of threads.
+ * <p>
+ * A range is halved until pieces are at most {@link #LEAF_SIZE} long, and partial results
+ * are combined in that same tree order. The tree depends only on the array length, so the
+ * sequential path ({@code pool == null}) and any pool size perform the same floating-point
+ * operations in the same order and return bit-identical results. Partial sums are carried
+ * as a value plus a Neumaier compensation term.
+ */
+final class ParallelReductions {
+
+    // Arrays shorter than this are reduced on the calling thread.
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private static final int LEAF_SIZE = 1 << 13;
+    private static final double LN_2 = Math.log(2);
+
+    private ParallelReductions() {
+    }
+
+    static ForkJoinPool poolFor(int length, ForkJoinPool pool) {
+        return length >= PARALLEL_THRESHOLD ? pool : null;
+    }
+
+    static double sum(double[] values, ForkJoinPool pool) {
+        return reduce(values.length, pool, new Reduction<CompensatedSum>() {
+            @Override
+            public CompensatedSum leaf(int from, int to) {
+                CompensatedSum sum = new CompensatedSum();
+                for (int i = from; i < to; i++) {
+                    sum.add(values[i]);
+                }
+                return sum;
+            }
+
+            @Override
+            public CompensatedSum combine(CompensatedSum left, CompensatedSum right) {
+                return left.add(right);
+            }
+        }).value();
+    }
+
+    // Shannon entropy in bits; non-positive entries contribute nothing.
+    static double entropy(double[] probabilities, ForkJoinPool pool) {
+        return -reduce(probabilities.length, pool, new Reduction<CompensatedSum>() {
+            @Override
+            public CompensatedSum leaf(int from, int to) {
+                CompensatedSum sum = new CompensatedSum();
+                for (int i = from; i < to; i++) {
+                    double p = probabilities[i];
+                    if (p > 0) {
+                        sum.add(p * Math.log(p));
+                    }
+                }
+                return sum;
+            }
+
+            @Override
+            public CompensatedSum combine(CompensatedSum left, CompensatedSum right) {
+                return left.add(right);
+            }
+        }).value() / LN_2;
+    }
+
+    static BivariateMoments moments(double[] x, double[] y, ForkJoinPool pool) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("Arrays must have same length");
+        }
+        return reduce(x.length, pool, new Reduction<BivariateMoments>() {
+            @Override
+            public BivariateMoments leaf(int from, int to) {
+                return BivariateMoments.of(x, y, from, to);
+            }
+
+            @Override
+            public BivariateMoments combine(BivariateMoments left, BivariateMoments right) {
+                left.merge(right);
+                return left;
+            }
+        });
+    }
+
+    private static <T> T reduce(int length, ForkJoinPool pool, Reduction<T> reduction) {
+        if (pool == null) {
+            return reduceSequential(reduction, 0, length);
+        }
+        return pool.invoke(new ReductionTask<>(reduction, 0, length));
+    }
+
+    private static <T> T reduceSequential(Reduction<T> reduction, int from, int to) {
+        if (to - from <= LEAF_SIZE) {
+            return reduction.leaf(from, to);
+        }
+        int mid = (from + to) >>> 1;
+        T left = reduceSequential(reduction, from, mid);
+        return reduction.combine(left, reduceSequential(reduction, mid, to));
+    }
+
+    private interface Reduction<T> {
+        T leaf(int from, int to);
+
+        T combine(T left, T right);
+    }
+
+    private static final class ReductionTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+
+        private final Reduction<T> reduction;
+        private final int from;
+        private final int to;
+
+        ReductionTask(Reduction<T> reduction, int from, int to) {
+            this.reduction = reduction;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= LEAF_SIZE) {
+                return reduction.leaf(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ReductionTask<T> left = new ReductionTask<>(reduction, from, mid);
+            left.fork();
+            T right = new ReductionTask<>(reduction, mid, to).compute();
+            return reduction.combine(left.join(), right);
+        }
+    }
+
+    // Neumaier-compensated running sum: value() = sum + compensation.
+    private static final class CompensatedSum {
+        private double sum;
+        private double compensation;
+
+        void add(double value) {
+            double t = sum + value;
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - t) + value;
+            } else {
+                compensation += (value - t) + sum;
+            }
+            sum = t;
+        }
+
+        CompensatedSum add(CompensatedSum other) {
+            add(other.sum);
+            compensation += other.compensation;
+            return this;
+        }
+
+        double value() {
+            return sum + compensation;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.stream.IntStream;
+
+/**
+ * Real roots of quadratics and cubics, one equation at a time or over structure-of-arrays
+ * batches, used by {@link AdvancedMathUtils#solveQuadratic} and
+ * {@link AdvancedMathUtils#solveCubic}.
+ * <p>
+ * Quadratics use the cancellation-free form {@code q = -(b + sign(b) sqrt(D)) / 2}, with
+ * roots {@code q / a} and {@code c / q}. The discriminant is evaluated with fused
+ * multiply-adds. Cubics use Cardano's formula with the larger-magnitude cube root when there
+ * is one real root, and the trigonometric form when there are three. Each cubic root then
+ * gets up to two Newton steps on the original polynomial. A leading coefficient of zero
+ * falls back to the lower-degree equation.
+ */
+final class PolynomialRoots {
+
+    private static final int CHUNK = 4096;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private PolynomialRoots() {
+    }
+
+    // Writes roots to out[offset..] and returns how many there are (0 to 2).
+    static int quadratic(double a, double b, double c, double[] out, int offset) {
+        if (a == 0) {
+            if (b == 0) {
+                return 0;
+            }
+            out[offset] = -c / b;
+            return 1;
+        }
+        double discriminant = discriminant(a, b, c);
+        if (discriminant < 0) {
+            return 0;
+        }
+        if (discriminant == 0) {
+            out[offset] = -b / (2 * a);
+            return 1;
+        }
+        double s = Math.sqrt(discriminant);
+        // Listed in the historical order (-b + s) / 2a, then (-b - s) / 2a.
+        if (b >= 0) {
+            double q = -0.5 * (b + s);
+            out[offset] = c / q;
+            out[offset + 1] = q / a;
+        } else {
+            double q = -0.5 * (b - s);
+            out[offset] = q / a;
+            out[offset + 1] = c / q;
+        }
+        return 2;
+    }
+
+    // Writes roots to out[offset..] and returns how many distinct real roots there are (0 to 3).
+    static int cubic(double a, double b, double c, double d, double[] out, int offset) {
+        if (a == 0) {
+            return quadratic(b, c, d, out, offset);
+        }
+        b /= a;
+        c /= a;
+        d /= a;
+
+        double q = (3 * c - b * b) / 9;
+        double r = (9 * b * c - 27 * d - 2 * b * b * b) / 54;
+        double discriminant = q * q * q + r * r;
+        double shift = b / 3;
+
+        int count;
+        if (discriminant > 0) {
+            // Take the cube root of the larger-magnitude term; the other follows from s * t = -q.
+            double s = Math.copySign(Math.cbrt(Math.abs(r) + Math.sqrt(discriminant)), r);
+            double t = s == 0 ? 0 : -q / s;
+            out[offset] = s + t - shift;
+            count = 1;
+        } else if (discriminant == 0) {
+            double cbrtR = Math.cbrt(r);
+            out[offset] = 2 * cbrtR - shift;
+            if (r == 0) {
+                count = 1;
+            } else {
+                out[offset + 1] = -cbrtR - shift;
+                count = 2;
+            }
+        } else {
+            double theta = Math.acos(Math.max(-1, Math.min(1, r / Math.sqrt(-q * q * q))));
+            double scale = 2 * Math.sqrt(-q);
+            out[offset] = scale * Math.cos(theta / 3) - shift;
+            out[offset + 1] = scale * Math.cos((theta + 2 * Math.PI) / 3) - shift;
+            out[offset + 2] = scale * Math.cos((theta + 4 * Math.PI) / 3) - shift;
+            count = 3;
+        }
+        for (int i = offset; i < offset + count; i++) {
+            out[i] = polish(b, c, d, out[i]);
+        }
+        return count;
+    }
+
+    static void quadratics(double[] a, double[] b, double[] c,
+                           double[] root1, double[] root2, int[] rootCounts) {
+        int n = a.length;
+        checkLengths(n, b, c, root1, root2);
+        if (rootCounts != null && rootCounts.length != n) {
+            throw new IllegalArgumentException("All arrays must have same length");
+        }
+        forEachChunk(n, (from, to) -> {
+            double[] scratch = new double[2];
+            for (int i = from; i < to; i++) {
+                int count = quadratic(a[i], b[i], c[i], scratch, 0);
+                root1[i] = count > 0 ? scratch[0] : Double.NaN;
+                root2[i] = count > 1 ? scratch[1] : Double.NaN;
+                if (rootCounts != null) rootCounts[i] = count;
+            }
+        });
+    }
+
+    static void cubics(double[] a, double[] b, double[] c, double[] d,
+                       double[] root1, double[] root2, double[] root3, int[] rootCounts) {
+        int n = a.length;
+        checkLengths(n, b, c, d, root1, root2, root3);
+        if (rootCounts != null && rootCounts.length != n) {
+            throw new IllegalArgumentException("All arrays must have same length");
+        }
+        forEachChunk(n, (from, to) -> {
+            double[] scratch = new double[3];
+            for (int i = from; i < to; i++) {
+                int count = cubic(a[i], b[i], c[i], d[i], scratch, 0);
+                root1[i] = count > 0 ? scratch[0] : Double.NaN;
+                root2[i] = count > 1 ? scratch[1] : Double.NaN;
+                root3[i] = count > 2 ? scratch[2] : Double.NaN;
+                if (rootCounts != null) rootCounts[i] = count;
+            }
+        });
+    }
+
+    // b^2 - 4ac with the rounding error of 4ac recovered by an FMA (Kahan's method).
+    private static double discriminant(double a, double b, double c) {
+        double w = 4 * a * c;
+        double e = Math.fma(-4 * a, c, w);
+        double f = Math.fma(b, b, -w);
+        return f + e;
+    }
+
+    // Newton steps on x^3 + b x^2 + c x + d, kept only while they reduce the residual.
+    private static double polish(double b, double c, double d, double x) {
+        double fx = ((x + b) * x + c) * x + d;
+        for (int iteration = 0; iteration < 2 && fx != 0; iteration++) {
+            double derivative = (3 * x + 2 * b) * x + c;
+            if (derivative == 0) {
+                break;
+            }
+            double next = x - fx / derivative;
+            double fNext = ((next + b) * next + c) * next + d;
+            if (!(Math.abs(fNext) < Math.abs(fx))) {
+                break;
+            }
+            x = next;
+            fx = fNext;
+        }
+        return x;
+    }
+
+    private static void checkLengths(int n, double[]... arrays) {
+        for (double[] array : arrays) {
+            if (array.length != n) {
+                throw new IllegalArgumentException("All arrays must have same length");
+            }
+        }
+    }
+
+    private static void forEachChunk(int n, ChunkBody body) {
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        IntStream range = IntStream.range(0, chunks);
+        if (n >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(chunk -> body.run(chunk * CHUNK, Math.min(n, (chunk + 1) * CHUNK)));
+    }
+
+    private interface ChunkBody {
+        void run(int from, int to);
+    }
+}
@@ -0,0 +1,247 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Segmented sieve of Eratosthenes over odd numbers only. Each segment is a bitset of
+ * {@value #SEGMENT_BITS} odd candidates (128 KB, sized to stay in L2), so memory stays
+ * bounded regardless of the range. Counting and array results sieve segments in parallel;
+ * {@link #iterator} and {@link #stream} sieve one segment at a time on demand.
+ */
+public final class PrimeSieve {
+
+    private static final int SEGMENT_BITS = 1 << 20;
+    private static final int SMALL_SIEVE_LIMIT = 1 << 16;
+    // Keeps sqrt(hi) within int range and m + 2p free of overflow.
+    private static final long MAX_LIMIT = 1L << 60;
+
+    private PrimeSieve() {
+    }
+
+    public static int[] primes(int n) {
+        if (n < 2) {
+            return new int[0];
+        }
+        Range range = new Range(2, n);
+        int[] basePrimes = basePrimes(n);
+        int[][] parts = IntStream.range(0, range.segmentCount).parallel()
+                .mapToObj(s -> {
+                    long[] bits = range.sieve(s, basePrimes);
+                    int[] primes = new int[countBits(bits)];
+                    long base = range.segmentBase(s);
+                    int index = 0;
+                    for (int w = 0; w < bits.length; w++) {
+                        long word = bits[w];
+                        while (word != 0) {
+                            int bit = Long.numberOfTrailingZeros(word);
+                            primes[index++] = (int) (base + 2L * ((w << 6) + bit));
+                            word &= word - 1;
+                        }
+                    }
+                    return primes;
+                })
+                .toArray(int[][]::new);
+
+        int total = 1;
+        for (int[] part : parts) {
+            total += part.length;
+        }
+        int[] result = new int[total];
+        result[0] = 2;
+        int offset = 1;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+
+    public static long countPrimes(long n) {
+        return countPrimesInRange(0, n);
+    }
+
+    public static long countPrimesInRange(long lo, long hi) {
+        if (hi < 2 || hi < lo) {
+            return 0;
+        }
+        Range range = new Range(lo, hi);
+        int[] basePrimes = basePrimes(hi);
+        long count = IntStream.range(0, range.segmentCount).parallel()
+                .mapToLong(s -> countBits(range.sieve(s, basePrimes)))
+                .sum();
+        return range.includesTwo ? count + 1 : count;
+    }
+
+    public static long[] primesInRange(long lo, long hi) {
+        return stream(lo, hi).toArray();
+    }
+
+    public static LongStream stream(long lo, long hi) {
+        Spliterator.OfLong spliterator = Spliterators.spliteratorUnknownSize(iterator(lo, hi),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        return StreamSupport.longStream(spliterator, false);
+    }
+
+    // Primes in [lo, hi] in ascending order, sieving one segment at a time.
+    public static PrimitiveIterator.OfLong iterator(long lo, long hi) {
+        if (hi < 2 || hi < lo) {
+            return LongStream.empty().iterator();
+        }
+        Range range = new Range(lo, hi);
+        int[] basePrimes = basePrimes(hi);
+        return new PrimitiveIterator.OfLong() {
+            private boolean pendingTwo = range.includesTwo;
+            private int segment = -1;
+            private long[] bits = new long[0];
+            private long base;
+            private int word;
+            private long current;
+
+            @Override
+            public boolean hasNext() {
+                if (pendingTwo) {
+                    return true;
+                }
+                while (true) {
+                    while (current == 0 && word + 1 < bits.length) {
+                        current = bits[++word];
+                    }
+                    if (current != 0) {
+                        return true;
+                    }
+                    if (segment + 1 >= range.segmentCount) {
+                        return false;
+                    }
+                    segment++;
+                    bits = range.sieve(segment, basePrimes);
+                    base = range.segmentBase(segment);
+                    word = 0;
+                    current = bits.length > 0 ? bits[0] : 0;
+                }
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (pendingTwo) {
+                    pendingTwo = false;
+                    return 2;
+                }
+                int bit = Long.numberOfTrailingZeros(current);
+                current &= current - 1;
+                return base + 2L * (((long) word << 6) + bit);
+            }
+        };
+    }
+
+    private static int[] basePrimes(long hi) {
+        if (hi > MAX_LIMIT) {
+            throw new IllegalArgumentException("Upper bound must not exceed 2^60");
+        }
+        int root = (int) Math.sqrt((double) hi);
+        while ((long) (root + 1) * (root + 1) <= hi) {
+            root++;
+        }
+        while ((long) root * root > hi) {
+            root--;
+        }
+        int[] primes = root <= SMALL_SIEVE_LIMIT ? smallPrimes(root) : primes(root);
+        // Only odd primes take part in the segment sieve.
+        return primes.length > 0 && primes[0] == 2 ? Arrays.copyOfRange(primes, 1, primes.length) : primes;
+    }
+
+    private static int[] smallPrimes(int n) {
+        if (n < 2) {
+            return new int[0];
+        }
+        boolean[] composite = new boolean[n + 1];
+        int count = 0;
+        for (int i = 2; i <= n; i++) {
+            if (!composite[i]) {
+                count++;
+                for (long j = (long) i * i; j <= n; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        int[] primes = new int[count];
+        for (int i = 2, index = 0; i <= n; i++) {
+            if (!composite[i]) {
+                primes[index++] = i;
+            }
+        }
+        return primes;
+    }
+
+    private static int countBits(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // Odd candidates in [max(lo, 3), hi]; bit i of segment s stands for segmentBase(s) + 2i.
+    private static final class Range {
+        final boolean includesTwo;
+        final long firstOdd;
+        final long oddCount;
+        final int segmentCount;
+
+        Range(long lo, long hi) {
+            if (hi > MAX_LIMIT) {
+                throw new IllegalArgumentException("Upper bound must not exceed 2^60");
+            }
+            includesTwo = lo <= 2 && hi >= 2;
+            long start = Math.max(lo, 3);
+            firstOdd = (start & 1) == 0 ? start + 1 : start;
+            oddCount = hi >= firstOdd ? (hi - firstOdd) / 2 + 1 : 0;
+            long segments = (oddCount + SEGMENT_BITS - 1) / SEGMENT_BITS;
+            // Segments are indexed by int, which caps the width of the range at about 2^52.
+            if (segments > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Range must span less than 2^52 numbers");
+            }
+            segmentCount = (int) segments;
+        }
+
+        long segmentBase(int segment) {
+            return firstOdd + 2L * SEGMENT_BITS * segment;
+        }
+
+        long[] sieve(int segment, int[] basePrimes) {
+            long base = segmentBase(segment);
+            int bitCount = (int) Math.min(SEGMENT_BITS, oddCount - (long) SEGMENT_BITS * segment);
+            long[] bits = new long[(bitCount + 63) >>> 6];
+            Arrays.fill(bits, -1L);
+            if ((bitCount & 63) != 0) {
+                bits[bits.length - 1] = (1L << (bitCount & 63)) - 1;
+            }
+
+            long last = base + 2L * (bitCount - 1);
+            for (int p : basePrimes) {
+                long square = (long) p * p;
+                if (square > last) {
+                    break;
+                }
+                long multiple = (base + p - 1) / p * p;
+                if ((multiple & 1) == 0) {
+                    multiple += p;
+                }
+                long first = Math.max(square, multiple);
+                for (long index = (first - base) >>> 1; index < bitCount; index += p) {
+                    bits[(int) (index >>> 6)] &= ~(1L << index);
+                }
+            }
+            return bits;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.oussama_chatri.math_utils;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Mergeable streaming quantile sketch (KLL) with bounded memory, for percentiles such as
+ * p50/p95/p99 over unbounded streams.
+ * <p>
+ * With the default {@code k = 200} the rank error is about 1.65% for a single query, and the
+ * sketch keeps O(k log(n / k)) values. {@link #add} is thread-safe. Updates go to one of
+ * several lock-striped compactors picked by the calling thread, so writers rarely contend.
+ * Queries merge a snapshot of all stripes. {@link #merge} combines sketches from other
+ * threads or nodes, and {@link #toByteArray}/{@link #fromByteArray} move them between nodes.
+ */
+public final class QuantileSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final int MIN_K = 8;
+    private static final int MAX_STRIPES = 16;
+    private static final int SERIAL_VERSION = 1;
+
+    private final int k;
+    private final Compactors[] stripes;
+
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    public QuantileSketch(int k) {
+        if (k < MIN_K || k > 65535) {
+            throw new IllegalArgumentException("k must be between " + MIN_K + " and 65535");
+        }
+        this.k = k;
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, processors) * 2 - 1));
+        this.stripes = new Compactors[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Compactors(k, i);
+        }
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Value must not be NaN");
+        }
+        long id = Thread.currentThread().getId();
+        Compactors stripe = stripes[(int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & (stripes.length - 1)];
+        synchronized (stripe) {
+            stripe.update(value);
+        }
+    }
+
+    public void addAll(double... values) {
+        for (double value : values) {
+            add(value);
+        }
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a sketch into itself");
+        }
+        Compactors snapshot = other.snapshot();
+        synchronized (stripes[0]) {
+            stripes[0].merge(snapshot);
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (Compactors stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.n;
+            }
+        }
+        return count;
+    }
+
+    public double getMin() {
+        return snapshot().min;
+    }
+
+    public double getMax() {
+        return snapshot().max;
+    }
+
+    public double quantile(double q) {
+        return quantiles(q)[0];
+    }
+
+    public double[] quantiles(double... qs) {
+        for (double q : qs) {
+            if (!(q >= 0 && q <= 1)) {
+                throw new IllegalArgumentException("Quantile must be between 0 and 1");
+            }
+        }
+        Compactors snapshot = snapshot();
+        double[] result = new double[qs.length];
+        if (snapshot.n == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        SortedView view = snapshot.sortedView();
+        for (int i = 0; i < qs.length; i++) {
+            result[i] = view.quantile(qs[i], snapshot);
+        }
+        return result;
+    }
+
+    public double median() {
+        return quantile(0.5);
+    }
+
+    // Estimated fraction of added values that are <= value.
+    public double rank(double value) {
+        Compactors snapshot = snapshot();
+        if (snapshot.n == 0) {
+            return Double.NaN;
+        }
+        SortedView view = snapshot.sortedView();
+        long weight = 0;
+        for (int i = 0; i < view.values.length && view.values[i] <= value; i++) {
+            weight += view.weights[i];
+        }
+        return (double) weight / snapshot.n;
+    }
+
+    public byte[] toByteArray() {
+        Compactors snapshot = snapshot();
+        int items = 0;
+        for (int h = 0; h < snapshot.numLevels; h++) {
+            items += snapshot.sizes[h];
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 8 + 8 + 8 + 4 + 4 * snapshot.numLevels + 8 * items);
+        buffer.putInt(SERIAL_VERSION);
+        buffer.putInt(k);
+        buffer.putLong(snapshot.n);
+        buffer.putDouble(snapshot.min);
+        buffer.putDouble(snapshot.max);
+        buffer.putInt(snapshot.numLevels);
+        for (int h = 0; h < snapshot.numLevels; h++) {
+            buffer.putInt(snapshot.sizes[h]);
+            for (int i = 0; i < snapshot.sizes[h]; i++) {
+                buffer.putDouble(snapshot.levels[h][i]);
+            }
+        }
+        return buffer.array();
+    }
+
+    public static QuantileSketch fromByteArray(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        try {
+            if (buffer.getInt() != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format");
+            }
+            QuantileSketch sketch = new QuantileSketch(buffer.getInt());
+            Compactors target = sketch.stripes[0];
+            target.n = buffer.getLong();
+            target.min = buffer.getDouble();
+            target.max = buffer.getDouble();
+            int numLevels = buffer.getInt();
+            if (numLevels < 1 || numLevels > 64) {
+                throw new IllegalArgumentException("Corrupt sketch data");
+            }
+            target.ensureLevels(numLevels);
+            for (int h = 0; h < numLevels; h++) {
+                int size = buffer.getInt();
+                if (size < 0 || size > buffer.remaining() / 8) {
+                    throw new IllegalArgumentException("Corrupt sketch data");
+                }
+                double[] level = new double[Math.max(size, 8)];
+                for (int i = 0; i < size; i++) {
+                    level[i] = buffer.getDouble();
+                }
+                target.levels[h] = level;
+                target.sizes[h] = size;
+                target.totalSize += size;
+            }
+            return sketch;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Corrupt sketch data", e);
+        }
+    }
+
+    private Compactors snapshot() {
+        Compactors merged = new Compactors(k, 0);
+        for (Compactors stripe : stripes) {
+            synchronized (stripe) {
+                merged.merge(stripe);
+            }
+        }
+        return merged;
+    }
+
+    // Level h holds values of weight 2^h. Lower levels have geometrically smaller capacities.
+    private static final class Compactors {
+        private static final double CAPACITY_DECAY = 2.0 / 3.0;
+        private static final int MIN_WIDTH = 8;
+
+        final int k;
+        long n;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        double[][] levels = new double[1][MIN_WIDTH];
+        int[] sizes = new int[1];
+        int numLevels = 1;
+        private int[] capacities;
+        private int totalSize;
+        private int totalCapacity;
+        private long random;
+
+        Compactors(int k, int seed) {
+            this.k = k;
+            this.random = (0x9E3779B97F4A7C15L * (seed + 1) ^ System.nanoTime()) | 1;
+            updateCapacities();
+        }
+
+        void update(double value) {
+            if (n == 0) {
+                min = value;
+                max = value;
+            } else {
+                if (value < min) min = value;
+                if (value > max) max = value;
+            }
+            n++;
+            append(0, value);
+            compressIfNeeded();
+        }
+
+        void merge(Compactors other) {
+            if (other.n == 0) {
+                return;
+            }
+            if (n == 0) {
+                min = other.min;
+                max = other.max;
+            } else {
+                min = Math.min(min, other.min);
+                max = Math.max(max, other.max);
+            }
+            n += other.n;
+            ensureLevels(other.numLevels);
+            for (int h = 0; h < other.numLevels; h++) {
+                for (int i = 0; i < other.sizes[h]; i++) {
+                    append(h, other.levels[h][i]);
+                }
+            }
+            compressIfNeeded();
+        }
+
+        SortedView sortedView() {
+            double[] values = new double[0];
+            long[] weights = new long[0];
+            for (int h = 0; h < numLevels; h++) {
+                double[] level = Arrays.copyOf(levels[h], sizes[h]);
+                Arrays.sort(level);
+                double[] mergedValues = new double[values.length + level.length];
+                long[] mergedWeights = new long[mergedValues.length];
+                long weight = 1L << h;
+                int i = 0, j = 0, o = 0;
+                while (i < values.length || j < level.length) {
+                    if (j >= level.length || (i < values.length && values[i] <= level[j])) {
+                        mergedValues[o] = values[i];
+                        mergedWeights[o++] = weights[i++];
+                    } else {
+                        mergedValues[o] = level[j++];
+                        mergedWeights[o++] = weight;
+                    }
+                }
+                values = mergedValues;
+                weights = mergedWeights;
+            }
+            return new SortedView(values, weights);
+        }
+
+        void ensureLevels(int count) {
+            if (count <= numLevels) {
+                return;
+            }
+            levels = Arrays.copyOf(levels, count);
+            sizes = Arrays.copyOf(sizes, count);
+            for (int h = numLevels; h < count; h++) {
+                levels[h] = new double[MIN_WIDTH];
+            }
+            numLevels = count;
+            updateCapacities();
+        }
+
+        private void updateCapacities() {
+            capacities = new int[numLevels];
+            totalCapacity = 0;
+            for (int h = 0; h < numLevels; h++) {
+                int depth = numLevels - 1 - h;
+                capacities[h] = Math.max(MIN_WIDTH, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+                totalCapacity += capacities[h];
+            }
+        }
+
+        private void append(int level, double value) {
+            double[] items = levels[level];
+            if (sizes[level] == items.length) {
+                items = Arrays.copyOf(items, items.length * 2);
+                levels[level] = items;
+            }
+            items[sizes[level]++] = value;
+            totalSize++;
+        }
+
+        private void compressIfNeeded() {
+            while (totalSize >= totalCapacity) {
+                for (int h = 0; h < numLevels; h++) {
+                    if (sizes[h] >= capacities[h]) {
+                        compact(h);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Sorts the level and promotes every other value (random offset) to the next level.
+        private void compact(int level) {
+            if (level + 1 == numLevels) {
+                ensureLevels(numLevels + 1);
+            }
+            double[] items = levels[level];
+            int size = sizes[level];
+            Arrays.sort(items, 0, size);
+            int kept = size & 1;
+            random ^= random << 13;
+            random ^= random >>> 7;
+            random ^= random << 17;
+            int offset = (int) (random & 1);
+            for (int i = kept + offset; i < size; i += 2) {
+                append(level + 1, items[i]);
+            }
+            totalSize -= size - kept;
+            sizes[level] = kept;
+        }
+    }
+
+    private static final class SortedView {
+        final double[] values;
+        final long[] weights;
+
+        SortedView(double[] values, long[] weights) {
+            this.values = values;
+            this.weights = weights;
+        }
+
+        double quantile(double q, Compactors source) {
+            if (q == 0) {
+                return source.min;
+            }
+            if (q == 1) {
+                return source.max;
+            }
+            long totalWeight = 0;
+            for (long weight : weights) {
+                totalWeight += weight;
+            }
+            double target = q * totalWeight;
+            long cumulative = 0;
+            for (int i = 0; i < values.length; i++) {
+                cumulative += weights[i];
+                if (cumulative >= target) {
+                    return values[i];
+                }
+            }
+            return source.max;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable sparse matrix in compressed sparse row (CSR) form. Memory is proportional to the
+ * number of non-zeros plus one pointer per row.
+ * <p>
+ * {@link #transpose()} is an O(nnz) counting sort. The CSR arrays of the transpose are the
+ * compressed sparse column (CSC) arrays of this matrix, so column-oriented access goes
+ * through the transpose. Products with dense operands are split across rows in parallel once
+ * the matrix holds enough non-zeros.
+ */
+public final class SparseMatrix {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private final int rows;
+    private final int cols;
+    private final int[] rowPointers;
+    private final int[] columnIndices;
+    private final double[] values;
+
+    private SparseMatrix(int rows, int cols, int[] rowPointers, int[] columnIndices, double[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPointers = rowPointers;
+        this.columnIndices = columnIndices;
+        this.values = values;
+    }
+
+    public static Builder builder(int rows, int cols) {
+        return new Builder(rows, cols);
+    }
+
+    // Builds from coordinate triples; duplicate coordinates are summed.
+    public static SparseMatrix fromTriplets(int rows, int cols, int[] rowIndices, int[] colIndices, double[] values) {
+        if (rowIndices.length != colIndices.length || rowIndices.length != values.length) {
+            throw new IllegalArgumentException("Triplet arrays must have same length");
+        }
+        Builder builder = new Builder(rows, cols);
+        for (int i = 0; i < values.length; i++) {
+            builder.add(rowIndices[i], colIndices[i], values[i]);
+        }
+        return builder.build();
+    }
+
+    public static SparseMatrix fromMatrix(AdvancedMathUtils.Matrix matrix) {
+        double[][] data = matrix.rawData();
+        int rows = matrix.rows();
+        int cols = matrix.cols();
+        int[] rowPointers = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int count = 0;
+            for (double value : data[i]) {
+                if (value != 0) count++;
+            }
+            rowPointers[i + 1] = rowPointers[i] + count;
+        }
+        int[] columnIndices = new int[rowPointers[rows]];
+        double[] values = new double[rowPointers[rows]];
+        for (int i = 0; i < rows; i++) {
+            int index = rowPointers[i];
+            for (int j = 0; j < cols; j++) {
+                if (data[i][j] != 0) {
+                    columnIndices[index] = j;
+                    values[index++] = data[i][j];
+                }
+            }
+        }
+        return new SparseMatrix(rows, cols, rowPointers, columnIndices, values);
+    }
+
+    public AdvancedMathUtils.Matrix toMatrix() {
+        AdvancedMathUtils.Matrix matrix = new AdvancedMathUtils.Matrix(rows, cols);
+        double[][] data = matrix.rawData();
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                data[i][columnIndices[p]] = values[p];
+            }
+        }
+        return matrix;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int nonZeroCount() {
+        return values.length;
+    }
+
+    public double get(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds");
+        }
+        int index = Arrays.binarySearch(columnIndices, rowPointers[row], rowPointers[row + 1], col);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    public double[] multiply(double[] x) {
+        if (x.length != cols) {
+            throw new IllegalArgumentException("Vector length must match column count");
+        }
+        double[] y = new double[rows];
+        forEachRow(i -> {
+            double sum = 0;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                sum += values[p] * x[columnIndices[p]];
+            }
+            y[i] = sum;
+        });
+        return y;
+    }
+
+    public AdvancedMathUtils.Vector multiply(AdvancedMathUtils.Vector vector) {
+        return new AdvancedMathUtils.Vector(multiply(vector.getComponents()));
+    }
+
+    // Computes transpose(this) * x without materialising the transpose.
+    public double[] transposeMultiply(double[] x) {
+        if (x.length != rows) {
+            throw new IllegalArgumentException("Vector length must match row count");
+        }
+        double[] y = new double[cols];
+        for (int i = 0; i < rows; i++) {
+            double xi = x[i];
+            if (xi == 0) continue;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                y[columnIndices[p]] += values[p] * xi;
+            }
+        }
+        return y;
+    }
+
+    public DenseMatrix multiply(DenseMatrix other) {
+        if (other.getRows() != cols) {
+            throw new IllegalArgumentException("Invalid matrix dimensions for multiplication");
+        }
+        int n = other.getCols();
+        double[] b = other.backingArray();
+        int bOffset = other.offset();
+        int bRowStride = other.rowStride();
+        int bColStride = other.colStride();
+        double[] c = new double[MatrixMultiplier.packedSize(rows, n)];
+        forEachRow(i -> {
+            int offset = i * n;
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                double a = values[p];
+                int src = bOffset + columnIndices[p] * bRowStride;
+                for (int j = 0; j < n; j++, src += bColStride) {
+                    c[offset + j] += a * b[src];
+                }
+            }
+        });
+        return DenseMatrix.wrap(c, rows, n);
+    }
+
+    public AdvancedMathUtils.Matrix multiply(AdvancedMathUtils.Matrix other) {
+        if (other.rows() != cols) {
+            throw new IllegalArgumentException("Invalid matrix dimensions for multiplication");
+        }
+        int n = other.cols();
+        double[][] b = other.rawData();
+        AdvancedMathUtils.Matrix result = new AdvancedMathUtils.Matrix(rows, n);
+        double[][] c = result.rawData();
+        forEachRow(i -> {
+            double[] cRow = c[i];
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                double a = values[p];
+                double[] bRow = b[columnIndices[p]];
+                for (int j = 0; j < n; j++) {
+                    cRow[j] += a * bRow[j];
+                }
+            }
+        });
+        return result;
+    }
+
+    public SparseMatrix transpose() {
+        int[] pointers = new int[cols + 1];
+        for (int index : columnIndices) {
+            pointers[index + 1]++;
+        }
+        for (int j = 0; j < cols; j++) {
+            pointers[j + 1] += pointers[j];
+        }
+        int[] next = Arrays.copyOf(pointers, cols);
+        int[] indices = new int[values.length];
+        double[] transposed = new double[values.length];
+        for (int i = 0; i < rows; i++) {
+            for (int p = rowPointers[i]; p < rowPointers[i + 1]; p++) {
+                int dest = next[columnIndices[p]]++;
+                indices[dest] = i;
+                transposed[dest] = values[p];
+            }
+        }
+        return new SparseMatrix(cols, rows, pointers, indices, transposed);
+    }
+
+    private void forEachRow(IntConsumer body) {
+        IntStream range = IntStream.range(0, rows);
+        if (values.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(body);
+    }
+
+    public static class Builder {
+        private final int rows;
+        private final int cols;
+        private int[] rowIndices = new int[16];
+        private int[] colIndices = new int[16];
+        private double[] entries = new double[16];
+        private int size;
+
+        private Builder(int rows, int cols) {
+            if (rows < 0 || cols < 0) {
+                throw new IllegalArgumentException("Matrix dimensions must be non-negative");
+            }
+            this.rows = rows;
+            this.cols = cols;
+        }
+
+        public Builder add(int row, int col, double value) {
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                throw new IndexOutOfBoundsException("Index (" + row + ", " + col + ") out of bounds");
+            }
+            if (size == entries.length) {
+                int capacity = size * 2;
+                rowIndices = Arrays.copyOf(rowIndices, capacity);
+                colIndices = Arrays.copyOf(colIndices, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            rowIndices[size] = row;
+            colIndices[size] = col;
+            entries[size++] = value;
+            return this;
+        }
+
+        public SparseMatrix build() {
+            int[] pointers = new int[rows + 1];
+            for (int i = 0; i < size; i++) {
+                pointers[rowIndices[i] + 1]++;
+            }
+            for (int i = 0; i < rows; i++) {
+                pointers[i + 1] += pointers[i];
+            }
+            int[] next = Arrays.copyOf(pointers, rows);
+            int[] columns = new int[size];
+            double[] sorted = new double[size];
+            for (int i = 0; i < size; i++) {
+                int dest = next[rowIndices[i]]++;
+                columns[dest] = colIndices[i];
+                sorted[dest] = entries[i];
+            }
+
+            // Sort each row by column, then sum duplicates and drop zeros in place.
+            int[] compactPointers = new int[rows + 1];
+            int write = 0;
+            for (int i = 0; i < rows; i++) {
+                int start = pointers[i];
+                int end = pointers[i + 1];
+                sortRow(columns, sorted, start, end);
+                for (int p = start; p < end; ) {
+                    int column = columns[p];
+                    double sum = 0;
+                    while (p < end && columns[p] == column) {
+                        sum += sorted[p++];
+                    }
+                    if (sum != 0) {
+                        columns[write] = column;
+                        sorted[write++] = sum;
+                    }
+                }
+                compactPointers[i + 1] = write;
+            }
+            return new SparseMatrix(rows, cols, compactPointers,
+                    Arrays.copyOf(columns, write), Arrays.copyOf(sorted, write));
+        }
+
+        private static void sortRow(int[] columns, double[] values, int start, int end) {
+            for (int i = start + 1; i < end; i++) {
+                if (columns[i - 1] > columns[i]) {
+                    sortRowSlow(columns, values, start, end);
+                    return;
+                }
+            }
+        }
+
+        private static void sortRowSlow(int[] columns, double[] values, int start, int end) {
+            long[] keys = new long[end - start];
+            for (int i = start; i < end; i++) {
+                keys[i - start] = ((long) columns[i] << 32) | (i - start);
+            }
+            Arrays.sort(keys);
+            double[] copy = Arrays.copyOfRange(values, start, end);
+            for (int i = 0; i < keys.length; i++) {
+                columns[start + i] = (int) (keys[i] >>> 32);
+                values[start + i] = copy[(int) keys[i]];
+            }
+        }
+    }
+}
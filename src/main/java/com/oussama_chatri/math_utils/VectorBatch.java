@@ -0,0 +1,347 @@
+package com.oussama_chatri.math_utils;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * A batch of {@code count} vectors of one fixed dimension, packed back to back in a single
+ * row-major {@code double[]}. Kernels score one query against every vector without creating
+ * any per-vector objects, and run in parallel over vector ranges once the batch is large.
+ * <p>
+ * Norms used by {@link #cosine} and {@link #nearest} are cached and recomputed lazily after
+ * any write through the batch. Writes made directly to an array passed to {@link #wrap} are
+ * not seen by the cache; call {@link #invalidate} after them.
+ */
+public final class VectorBatch {
+
+    private static final long PARALLEL_THRESHOLD = 1L << 16;
+    private static final int RANGE_SIZE = 1024;
+
+    private final double[] data;
+    private final int count;
+    private final int dimension;
+    private volatile double[] norms;
+
+    public VectorBatch(int count, int dimension) {
+        this(new double[Math.multiplyExact(count, dimension)], count, dimension);
+    }
+
+    private VectorBatch(double[] data, int count, int dimension) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Dimension must be positive");
+        }
+        this.data = data;
+        this.count = count;
+        this.dimension = dimension;
+    }
+
+    // Shares the given array without copying. Writes through the batch show up in the array.
+    // After writing to the array directly, call invalidate() before the next cosine or nearest.
+    public static VectorBatch wrap(double[] data, int dimension) {
+        if (dimension <= 0 || data.length % dimension != 0) {
+            throw new IllegalArgumentException("Array length must be a multiple of the dimension");
+        }
+        return new VectorBatch(data, data.length / dimension, dimension);
+    }
+
+    public static VectorBatch of(AdvancedMathUtils.Vector... vectors) {
+        if (vectors.length == 0) {
+            throw new IllegalArgumentException("At least one vector is required");
+        }
+        int dimension = vectors[0].getComponents().length;
+        VectorBatch batch = new VectorBatch(vectors.length, dimension);
+        for (int i = 0; i < vectors.length; i++) {
+            batch.setVector(i, vectors[i].getComponents());
+        }
+        return batch;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public double get(int index, int component) {
+        checkIndex(index);
+        if (component < 0 || component >= dimension) {
+            throw new IndexOutOfBoundsException("Component " + component + " out of bounds");
+        }
+        return data[index * dimension + component];
+    }
+
+    public void set(int index, int component, double value) {
+        checkIndex(index);
+        if (component < 0 || component >= dimension) {
+            throw new IndexOutOfBoundsException("Component " + component + " out of bounds");
+        }
+        data[index * dimension + component] = value;
+        norms = null;
+    }
+
+    // Drops the cached norms; needed only after writing to a wrapped array directly.
+    public void invalidate() {
+        norms = null;
+    }
+
+    public double[] getVector(int index) {
+        checkIndex(index);
+        return Arrays.copyOfRange(data, index * dimension, (index + 1) * dimension);
+    }
+
+    public void setVector(int index, double[] vector) {
+        checkIndex(index);
+        checkDimension(vector);
+        System.arraycopy(vector, 0, data, index * dimension, dimension);
+        norms = null;
+    }
+
+    public double[] dot(double[] query) {
+        return dot(query, new double[count]);
+    }
+
+    public double[] dot(double[] query, double[] out) {
+        checkDimension(query);
+        checkOutput(out);
+        forEachRange(i -> out[i] = dot(data, i * dimension, query, dimension));
+        return out;
+    }
+
+    // Cosine similarity against every vector; zero vectors score 0.
+    public double[] cosine(double[] query) {
+        return cosine(query, new double[count]);
+    }
+
+    public double[] cosine(double[] query, double[] out) {
+        checkDimension(query);
+        checkOutput(out);
+        double queryNorm = Math.sqrt(dot(query, 0, query, dimension));
+        double[] cached = norms();
+        forEachRange(i -> {
+            double denominator = queryNorm * cached[i];
+            out[i] = denominator == 0 ? 0 : dot(data, i * dimension, query, dimension) / denominator;
+        });
+        return out;
+    }
+
+    public double[] l2Distance(double[] query) {
+        return l2Distance(query, new double[count]);
+    }
+
+    public double[] l2Distance(double[] query, double[] out) {
+        checkDimension(query);
+        checkOutput(out);
+        forEachRange(i -> {
+            int offset = i * dimension;
+            double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+            int j = 0;
+            for (; j + 3 < dimension; j += 4) {
+                double d0 = data[offset + j] - query[j];
+                double d1 = data[offset + j + 1] - query[j + 1];
+                double d2 = data[offset + j + 2] - query[j + 2];
+                double d3 = data[offset + j + 3] - query[j + 3];
+                s0 += d0 * d0;
+                s1 += d1 * d1;
+                s2 += d2 * d2;
+                s3 += d3 * d3;
+            }
+            for (; j < dimension; j++) {
+                double d = data[offset + j] - query[j];
+                s0 += d * d;
+            }
+            out[i] = Math.sqrt((s0 + s1) + (s2 + s3));
+        });
+        return out;
+    }
+
+    // vector[index] += alpha * x, in place.
+    public void axpy(double alpha, double[] x, int index) {
+        checkIndex(index);
+        checkDimension(x);
+        int offset = index * dimension;
+        for (int j = 0; j < dimension; j++) {
+            data[offset + j] += alpha * x[j];
+        }
+        norms = null;
+    }
+
+    // this += alpha * other, element-wise over the whole batch, in place.
+    public void axpy(double alpha, VectorBatch other) {
+        if (other.count != count || other.dimension != dimension) {
+            throw new IllegalArgumentException("Batches must have the same shape");
+        }
+        double[] x = other.data;
+        forEachRange(i -> {
+            for (int j = i * dimension, end = j + dimension; j < end; j++) {
+                data[j] += alpha * x[j];
+            }
+        });
+        norms = null;
+    }
+
+    // Indices of the k vectors most similar to the query by cosine, best first.
+    public int[] nearest(double[] query, int k) {
+        return topK(cosine(query), k);
+    }
+
+    // Indices of the k largest scores in descending order; ties keep the lower index first.
+    public static int[] topK(double[] scores, int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be non-negative");
+        }
+        int n = scores.length;
+        k = Math.min(k, n);
+        if (k == 0) {
+            return new int[0];
+        }
+        int ranges = (n + RANGE_SIZE - 1) / RANGE_SIZE;
+        IntStream stream = IntStream.range(0, ranges);
+        if (n >= PARALLEL_THRESHOLD / 4) {
+            stream = stream.parallel();
+        }
+        int limit = k;
+        int[][] partial = stream
+                .mapToObj(r -> selectTop(scores, r * RANGE_SIZE, Math.min(n, (r + 1) * RANGE_SIZE), limit))
+                .toArray(int[][]::new);
+
+        IndexHeap heap = new IndexHeap(scores, k);
+        for (int[] indices : partial) {
+            for (int index : indices) {
+                heap.offer(index);
+            }
+        }
+        return heap.sortedDescending();
+    }
+
+    private static int[] selectTop(double[] scores, int from, int to, int k) {
+        IndexHeap heap = new IndexHeap(scores, k);
+        for (int i = from; i < to; i++) {
+            heap.offer(i);
+        }
+        return heap.toArray();
+    }
+
+    private double[] norms() {
+        double[] cached = norms;
+        if (cached == null) {
+            double[] computed = new double[count];
+            forEachRange(i -> computed[i] = Math.sqrt(dot(data, i * dimension, data, i * dimension, dimension)));
+            norms = cached = computed;
+        }
+        return cached;
+    }
+
+    private static double dot(double[] a, int aOffset, double[] b, int length) {
+        return dot(a, aOffset, b, 0, length);
+    }
+
+    private static double dot(double[] a, int aOffset, double[] b, int bOffset, int length) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int j = 0;
+        for (; j + 3 < length; j += 4) {
+            s0 += a[aOffset + j] * b[bOffset + j];
+            s1 += a[aOffset + j + 1] * b[bOffset + j + 1];
+            s2 += a[aOffset + j + 2] * b[bOffset + j + 2];
+            s3 += a[aOffset + j + 3] * b[bOffset + j + 3];
+        }
+        for (; j < length; j++) {
+            s0 += a[aOffset + j] * b[bOffset + j];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private void forEachRange(IntConsumer body) {
+        IntStream range = IntStream.range(0, count);
+        if ((long) count * dimension >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(body);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + count);
+        }
+    }
+
+    private void checkDimension(double[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Vectors must have same dimension");
+        }
+    }
+
+    private void checkOutput(double[] out) {
+        if (out.length != count) {
+            throw new IllegalArgumentException("Output length must match batch size");
+        }
+    }
+
+    // Bounded min-heap of indices ordered by score, lowest (worst) at the root.
+    private static final class IndexHeap {
+        private final double[] scores;
+        private final int[] heap;
+        private int size;
+
+        IndexHeap(double[] scores, int capacity) {
+            this.scores = scores;
+            this.heap = new int[capacity];
+        }
+
+        void offer(int index) {
+            if (size < heap.length) {
+                heap[size] = index;
+                siftUp(size++);
+            } else if (worse(heap[0], index)) {
+                heap[0] = index;
+                siftDown(0);
+            }
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(heap, size);
+        }
+
+        int[] sortedDescending() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = heap[0];
+                heap[0] = heap[--size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        // True if a ranks below b: lower score, or equal score and higher index.
+        private boolean worse(int a, int b) {
+            int cmp = Double.compare(scores[a], scores[b]);
+            return cmp < 0 || (cmp == 0 && a > b);
+        }
+
+        private void siftUp(int i) {
+            int item = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(item, heap[parent])) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = item;
+        }
+
+        private void siftDown(int i) {
+            int item = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && worse(heap[child + 1], heap[child])) child++;
+                if (!worse(heap[child], item)) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = item;
+        }
+    }
+}